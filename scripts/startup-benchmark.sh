@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Startup benchmark: time-to-first-request and resident memory (RSS) for each startup mode.
+#
+# Usage (from the project root, with Postgres and the docker-compose Kafka running):
+#   ./mvnw -Pfast-startup -DskipTests package
+#   scripts/startup-benchmark.sh [runs]
+#
+# Modes:
+#   jar      - plain fat jar
+#   aot      - fat jar with the AOT-generated bean definitions
+#   aot+cds  - extracted jar with AOT and the AppCDS archive from the training run
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8081}"
+URL="${URL:-http://localhost:${PORT}/actuator/health}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+TARGET_DIR="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR="$(ls "${TARGET_DIR}"/splitapp-*.jar | grep -v '\.original$' | head -n 1)"
+CDS_JAR="${TARGET_DIR}/cds/$(basename "${JAR}")"
+CDS_ARCHIVE="${TARGET_DIR}/cds/application.jsa"
+
+if [[ ! -f "${CDS_ARCHIVE}" ]]; then
+  echo "Missing ${CDS_ARCHIVE}; build with: ./mvnw -Pfast-startup -DskipTests package" >&2
+  exit 1
+fi
+
+now_ms() { date +%s%3N; }
+
+# Starts the app, waits until the first HTTP response (any status), prints "<ms> <rss_kb>", then stops it.
+measure() {
+  local start pid elapsed rss
+  start="$(now_ms)"
+  "$@" --server.port="${PORT}" > /dev/null 2>&1 &
+  pid=$!
+  until [[ "$(curl -s -o /dev/null -w '%{http_code}' "${URL}" || true)" != "000" ]]; do
+    if ! kill -0 "${pid}" 2> /dev/null; then
+      echo "Application exited before serving a request: $*" >&2
+      exit 1
+    fi
+    if (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+      kill "${pid}"
+      echo "Timed out waiting for ${URL}" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+  rss="$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")"
+  kill "${pid}"
+  wait "${pid}" 2> /dev/null || true
+  echo "${elapsed} ${rss}"
+}
+
+run_mode() {
+  local name="$1"
+  shift
+  local total_ms=0 total_rss=0 result ms rss
+  for ((i = 1; i <= RUNS; i++)); do
+    result="$(measure "$@")"
+    read -r ms rss <<< "${result}"
+    total_ms=$(( total_ms + ms ))
+    total_rss=$(( total_rss + rss ))
+  done
+  printf "%-10s %14d %10d\n" "${name}" $(( total_ms / RUNS )) $(( total_rss / RUNS / 1024 ))
+}
+
+printf "%-10s %14s %10s\n" "mode" "first-req ms" "rss MiB"
+run_mode "jar"     java -jar "${JAR}"
+run_mode "aot"     java -Dspring.aot.enabled=true -jar "${JAR}"
+run_mode "aot+cds" java -XX:SharedArchiveFile="${CDS_ARCHIVE}" -Dspring.aot.enabled=true -jar "${CDS_JAR}"
@@ -0,0 +1,21 @@
+package com.ok_jha.splitapp.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    /**
+     * Clock used for scheduling and lease decisions.
+     * Why UTC?: Lease expiry and next-run times are compared across nodes; a JVM-local zone would make
+     *          nodes in different zones disagree and shift times around DST changes.
+     * Why a bean?: Tests can substitute a fixed clock.
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,39 @@
+package com.ok_jha.splitapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+@Configuration
+public class StartupConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupConfig.class);
+
+    /**
+     * Marks rarely used beans as lazy, so they are created on first use instead of during startup.
+     * Why not spring.main.lazy-initialization?: That defers *every* bean to the first request, which just moves
+     *                                          the cost onto the first user. Only beans that an API request
+     *                                          rarely or never needs are listed (splitapp.startup.lazy-beans).
+     * Why static?: BeanFactoryPostProcessors must be created before any other bean in this class.
+     * Note: under AOT (fast-startup profile) this runs during process-aot, so the list is baked into the build.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyBeansPostProcessor(Environment environment) {
+        List<String> lazyBeans = List.of(environment.getProperty("splitapp.startup.lazy-beans", String[].class, new String[0]));
+        return beanFactory -> {
+            for (String beanName : lazyBeans) {
+                if (beanFactory.containsBeanDefinition(beanName)) {
+                    BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                    definition.setLazyInit(true);
+                    log.debug("Bean '{}' will be initialized lazily", beanName);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.ok_jha.splitapp.config;
+
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class TomcatConfig {
+
+    /**
+     * Gives request bodies their own read timeout instead of server.tomcat.connection-timeout.
+     * Why?: connection-timeout is kept short because it is also Tomcat's socket write timeout, which is what
+     *      frees an SSE sender thread stuck on a client that stopped reading. Without this, a slow upload
+     *      pausing for longer than that would fail too. Keep-alive has its own setting (server.tomcat.keep-alive-timeout).
+     */
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> requestBodyReadTimeoutCustomizer(
+            @Value("${splitapp.http.request-body-read-timeout:60s}") Duration requestBodyReadTimeout) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            if (connector.getProtocolHandler() instanceof AbstractHttp11Protocol<?> protocol) {
+                protocol.setDisableUploadTimeout(false);
+                protocol.setConnectionUploadTimeout((int) requestBodyReadTimeout.toMillis());
+            }
+        });
+    }
+}
@@ -44,6 +44,10 @@ public class Group {
     @Builder.Default // Initialize the set during build process if using Lombok @Builder
     private Set<User> members = new HashSet<>(); // Users who are members of this group
 
+    @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Builder.Default
+    private Set<RecurringExpense> recurringExpenses = new HashSet<>(); // Repeating expenses (rent, subscriptions...)
+
     // One group can have many expenses (We'll add this later when Expense entity exists)
     // @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     // private Set<Expense> expenses = new HashSet<>();
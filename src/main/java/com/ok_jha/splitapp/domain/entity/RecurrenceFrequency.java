@@ -0,0 +1,31 @@
+package com.ok_jha.splitapp.domain.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * How often a recurring expense repeats.
+ * Occurrences are always computed from the original start date (not from the previous occurrence),
+ * so e.g. a monthly expense starting on the 31st doesn't drift to the 28th after February.
+ */
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY;
+
+    /**
+     * @param startsAt   The first occurrence.
+     * @param every      Repeat every N periods (e.g. 2 with WEEKLY = fortnightly).
+     * @param occurrence Zero-based index of the occurrence.
+     * @return The date/time of that occurrence.
+     */
+    public LocalDateTime occurrence(LocalDateTime startsAt, int every, long occurrence) {
+        long periods = occurrence * every;
+        return switch (this) {
+            case DAILY -> startsAt.plusDays(periods);
+            case WEEKLY -> startsAt.plusWeeks(periods);
+            case MONTHLY -> startsAt.plusMonths(periods);
+            case YEARLY -> startsAt.plusYears(periods);
+        };
+    }
+}
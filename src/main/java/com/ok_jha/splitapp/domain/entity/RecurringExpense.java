@@ -0,0 +1,142 @@
+package com.ok_jha.splitapp.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Definition of an expense that repeats (rent, subscriptions, utilities...).
+ * The scheduler materializes each occurrence into a regular expense through the ingestion path.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "recurring_expenses",
+        indexes = {
+                // The scheduler only ever range-scans active definitions by next_run_at, never the whole table
+                @Index(name = "idx_recurring_expense_due", columnList = "active, next_run_at")
+        })
+public class RecurringExpense {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false) // Many recurring expenses belong to one group
+    @JoinColumn(name = "group_id", nullable = false)
+    private Group group;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false) // The member who pays each occurrence
+    @JoinColumn(name = "paid_by_user_id", nullable = false)
+    private User paidBy;
+
+    @NotBlank(message = "Description cannot be empty")
+    @Size(max = 255)
+    @Column(nullable = false)
+    private String description;
+
+    @NotNull
+    @DecimalMin(value = "0.01", message = "Amount must be positive")
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    // --- Recurrence (all date/times below are UTC) ---
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RecurrenceFrequency frequency;
+
+    @Min(1)
+    @Column(name = "interval_count", nullable = false)
+    private int intervalCount; // Repeat every N periods of 'frequency'
+
+    @NotNull
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt; // null = repeats forever
+
+    @Column(name = "occurrence_count", nullable = false)
+    private long occurrenceCount; // How many occurrences have been materialized so far
+
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt; // null once the schedule has ended
+
+    @Column(nullable = false)
+    private boolean active;
+
+    // --- Lease (which scheduler node currently owns the next occurrence) ---
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    // --- Auditing Fields ---
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Records that the current occurrence was materialized and moves nextRunAt to the following one.
+     * Deactivates the schedule once it passes endsAt.
+     */
+    public void advance() {
+        occurrenceCount++;
+        LocalDateTime next = frequency.occurrence(startsAt, intervalCount, occurrenceCount);
+        if (endsAt != null && next.isAfter(endsAt)) {
+            nextRunAt = null;
+            active = false;
+        } else {
+            nextRunAt = next;
+        }
+    }
+
+    // --- equals() and hashCode() ---
+    // Based on ID, similar to User and Group entities
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RecurringExpense that = (RecurringExpense) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? Objects.hash(id) : getClass().hashCode();
+    }
+
+    // --- toString() ---
+    // Exclude lazy associations to avoid triggering loads while logging
+    @Override
+    public String toString() {
+        return "RecurringExpense{" +
+                "id=" + id +
+                ", description='" + description + '\'' +
+                ", amount=" + amount +
+                ", frequency=" + frequency +
+                ", intervalCount=" + intervalCount +
+                ", nextRunAt=" + nextRunAt +
+                ", active=" + active +
+                '}';
+    }
+}
@@ -0,0 +1,15 @@
+package com.ok_jha.splitapp.domain.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed Spring Data projection exposing only the identity and last-modified timestamp of an entity.
+ * Why a projection?: Spring Data selects just these two columns, so callers that only need to know
+ *                   "has this changed?" (e.g., conditional GETs) never hydrate the full entity.
+ */
+public interface EntityVersion {
+
+    Long getId();
+
+    LocalDateTime getUpdatedAt();
+}
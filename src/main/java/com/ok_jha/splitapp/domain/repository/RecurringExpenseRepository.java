@@ -0,0 +1,63 @@
+package com.ok_jha.splitapp.domain.repository;
+
+import com.ok_jha.splitapp.domain.entity.Group;
+import com.ok_jha.splitapp.domain.entity.RecurringExpense;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringExpenseRepository extends JpaRepository<RecurringExpense, Long> {
+
+    // All recurring expenses defined for a group
+    List<RecurringExpense> findByGroup(Group group);
+
+    /**
+     * Locks the ids of active schedules due before 'horizon' whose lease is free or expired.
+     * Why native + SKIP LOCKED?: Several nodes can claim concurrently without blocking each other or
+     *                           claiming the same row. Only the (active, next_run_at) index range is read.
+     * Must run inside a transaction, followed by acquireLease() for the returned ids.
+     */
+    @Query(value = "SELECT id FROM recurring_expenses " +
+            "WHERE active = true AND next_run_at < :horizon " +
+            "AND (lease_expires_at IS NULL OR lease_expires_at < :now) " +
+            "ORDER BY next_run_at " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockClaimableIds(@Param("horizon") LocalDateTime horizon,
+                                @Param("now") LocalDateTime now,
+                                @Param("limit") int limit);
+
+    // Marks the given schedules as owned by 'owner' until 'until'
+    @Modifying
+    @Query("UPDATE RecurringExpense r SET r.leaseOwner = :owner, r.leaseExpiresAt = :until WHERE r.id IN :ids")
+    int acquireLease(@Param("ids") Collection<Long> ids,
+                     @Param("owner") String owner,
+                     @Param("until") LocalDateTime until);
+
+    // Loads and row-locks a schedule only if 'owner' still holds an unexpired lease on it.
+    // The row lock makes a concurrent claim on another node skip it (SKIP LOCKED) while we materialize.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RecurringExpense r WHERE r.id = :id AND r.leaseOwner = :owner AND r.leaseExpiresAt > :now")
+    Optional<RecurringExpense> findLeasedBy(@Param("id") Long id,
+                                            @Param("owner") String owner,
+                                            @Param("now") LocalDateTime now);
+
+    // Gives back the given leases if 'owner' still holds them (e.g. on shutdown) so other nodes can pick them up
+    // immediately. Takes the ids rather than filtering on lease_owner alone, which has no index: this is a
+    // primary-key lookup instead of a full-table scan.
+    @Modifying
+    @Query("UPDATE RecurringExpense r SET r.leaseOwner = null, r.leaseExpiresAt = null " +
+            "WHERE r.id IN :ids AND r.leaseOwner = :owner")
+    int releaseLeases(@Param("ids") Collection<Long> ids,
+                      @Param("owner") String owner);
+}
@@ -47,4 +47,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Fetches only the id and updatedAt of a user, for cheap ETag / conditional GET checks.
+     * Why a projection?: Selects two columns instead of hydrating the whole User entity.
+     * @param id The ID of the user.
+     * @return An Optional containing the version info if the user exists, otherwise empty.
+     */
+    Optional<EntityVersion> findVersionById(Long id);
+
+    /**
+     * Fetches only the id and updatedAt of a user by username.
+     * Why?: Same reason as findVersionById, for the username lookup endpoint.
+     * @param username The username to search for.
+     * @return An Optional containing the version info if the user exists, otherwise empty.
+     */
+    Optional<EntityVersion> findVersionByUsername(String username);
+
 }
@@ -0,0 +1,11 @@
+package com.ok_jha.splitapp.exception;
+
+/**
+ * Thrown when an expense could not be handed over to the ingestion pipeline (e.g. Kafka unavailable).
+ */
+public class ExpenseIngestionException extends SplitAppException {
+
+    public ExpenseIngestionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
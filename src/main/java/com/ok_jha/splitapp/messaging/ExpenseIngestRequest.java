@@ -0,0 +1,25 @@
+package com.ok_jha.splitapp.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// An expense to be recorded, published to the expense ingestion topic.
+// idempotencyKey lets the consumer drop duplicates (publishing is at-least-once).
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseIngestRequest {
+    private String idempotencyKey;
+    private Long groupId;
+    private Long paidByUserId;
+    private String description;
+    private BigDecimal amount;
+    private LocalDateTime incurredAt;
+    private Long recurringExpenseId; // null for one-off expenses
+}
@@ -0,0 +1,74 @@
+package com.ok_jha.splitapp.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ok_jha.splitapp.exception.ExpenseIngestionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes expenses to the ingestion topic.
+ * Messages are keyed by groupId so all expenses of a group stay ordered on one partition.
+ */
+@Component
+public class ExpenseIngestionPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseIngestionPublisher.class);
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+    private final long sendTimeoutMs;
+
+    public ExpenseIngestionPublisher(
+            KafkaTemplate<String, String> kafkaTemplate,
+            ObjectMapper objectMapper,
+            @Value("${splitapp.expense-ingestion.topic:expense-ingest}") String topic,
+            @Value("${splitapp.expense-ingestion.send-timeout-ms:2000}") long sendTimeoutMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.topic = topic;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    /**
+     * Sends all requests and waits until the broker acknowledged every one of them.
+     * Why wait?: Callers advance their own state (e.g. a schedule's nextRunAt) in the same DB transaction;
+     *           if a send fails the exception rolls that back and the occurrence is retried later.
+     *
+     * @throws ExpenseIngestionException if any send fails or times out.
+     */
+    public void publishAll(List<ExpenseIngestRequest> requests) {
+        List<CompletableFuture<?>> pending = new ArrayList<>(requests.size());
+        for (ExpenseIngestRequest request : requests) {
+            pending.add(kafkaTemplate.send(topic, String.valueOf(request.getGroupId()), toJson(request)));
+        }
+        try {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExpenseIngestionException("Interrupted while publishing expenses", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new ExpenseIngestionException("Failed to publish " + requests.size() + " expense(s) to " + topic, e);
+        }
+        log.debug("Published {} expense(s) to {}", requests.size(), topic);
+    }
+
+    private String toJson(ExpenseIngestRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new ExpenseIngestionException("Could not serialize expense " + request.getIdempotencyKey(), e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ok_jha.splitapp.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Snapshot of a group's net balances, published whenever the ledger for that group changes.
+// This is also the JSON payload pushed to SSE subscribers.
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupBalanceUpdate {
+    private Long groupId;
+    private Map<Long, BigDecimal> balances; // userId -> net balance (positive = is owed, negative = owes)
+    private LocalDateTime asOf;
+}
@@ -0,0 +1,43 @@
+package com.ok_jha.splitapp.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ok_jha.splitapp.web.sse.GroupBalanceBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes balance change events from Kafka and hands them to the SSE broadcaster.
+ * Why a random group id?: Every node holds its own SSE connections, so every node must see every event
+ *                        (broadcast), instead of Kafka splitting partitions across nodes.
+ */
+@Component
+@RequiredArgsConstructor
+public class GroupBalanceUpdateListener {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupBalanceUpdateListener.class);
+
+    private final GroupBalanceBroadcaster broadcaster;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "${splitapp.balance-stream.topic:group-balance-updates}",
+            groupId = "${splitapp.balance-stream.consumer-group-prefix:splitapp-balance-stream}-${random.uuid}"
+    )
+    public void onBalanceUpdate(String payload) {
+        try {
+            GroupBalanceUpdate update = objectMapper.readValue(payload, GroupBalanceUpdate.class);
+            if (update.getGroupId() == null) {
+                log.warn("Ignoring balance update without groupId");
+                return;
+            }
+            broadcaster.publish(update);
+        } catch (JsonProcessingException e) {
+            // Poison messages are logged and skipped, they must not block the stream for other groups
+            log.warn("Could not parse balance update: {}", e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.ok_jha.splitapp.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (as used by Kafka and Netty) for scheduling many timers cheaply.
+ * Why?: Adding a timer and advancing one tick are O(1) regardless of how many timers are pending,
+ *      and timers far in the future sit in coarse overflow wheels until they are close enough.
+ *
+ * Each level has wheelSize buckets of tickMs each; the next level's tick equals this level's whole span.
+ * Entries cascade down one level every time the level below completes a rotation.
+ *
+ * NOT thread-safe: it is meant to be driven by a single scheduler thread.
+ *
+ * @param <T> The payload carried by each timer.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final Level root;
+    private int size;
+
+    /**
+     * @param tickMs    Resolution of the finest wheel, in milliseconds.
+     * @param wheelSize Number of buckets per level.
+     * @param startMs   Current time, in epoch milliseconds.
+     */
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize greater than 1");
+        }
+        this.root = new Level(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * Schedules a payload. It never expires before its deadline, and at most one tick after it.
+     *
+     * @return true if it was added to the wheel, false if its deadline has already passed
+     *         (the caller should run it right away).
+     */
+    public boolean add(T payload, long deadlineMs) {
+        // A bucket is drained when the clock reaches its start, so round the deadline up to the next tick boundary
+        if (root.add(new Entry<>(payload, deadlineMs + root.tickMs - 1))) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Advances the clock and hands every expired payload to the consumer, in no particular order within a tick.
+     */
+    public void advanceTo(long nowMs, Consumer<T> onExpired) {
+        if (size == 0) {
+            // Nothing to cascade: jump straight to 'now' instead of walking every tick (e.g. after a long pause)
+            root.reset(nowMs);
+            return;
+        }
+        root.advanceTo(nowMs, entry -> {
+            size--;
+            onExpired.accept(entry.payload);
+        });
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private record Entry<T>(T payload, long deadlineMs) {
+    }
+
+    private final class Level {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final List<List<Entry<T>>> buckets;
+        private long currentTime; // always a multiple of tickMs
+        private Level overflow;
+
+        private Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        private boolean add(Entry<T> entry) {
+            if (entry.deadlineMs < currentTime + tickMs) {
+                return false;
+            }
+            if (entry.deadlineMs < currentTime + interval) {
+                buckets.get(bucketIndex(entry.deadlineMs)).add(entry);
+                return true;
+            }
+            return overflow().add(entry);
+        }
+
+        private void advanceTo(long nowMs, Consumer<Entry<T>> onExpired) {
+            while (currentTime + tickMs <= nowMs) {
+                currentTime += tickMs;
+                if (overflow != null) {
+                    // Overflow entries whose coarse bucket just came due are re-inserted at this finer level
+                    overflow.advanceTo(currentTime, entry -> {
+                        if (!add(entry)) {
+                            onExpired.accept(entry);
+                        }
+                    });
+                }
+                List<Entry<T>> bucket = buckets.get(bucketIndex(currentTime));
+                if (!bucket.isEmpty()) {
+                    List<Entry<T>> expired = new ArrayList<>(bucket);
+                    bucket.clear();
+                    expired.forEach(onExpired);
+                }
+            }
+        }
+
+        private void reset(long nowMs) {
+            currentTime = nowMs - (nowMs % tickMs);
+            if (overflow != null) {
+                overflow.reset(currentTime);
+            }
+        }
+
+        private int bucketIndex(long timeMs) {
+            return (int) ((timeMs / tickMs) % wheelSize);
+        }
+
+        private Level overflow() {
+            if (overflow == null) {
+                overflow = new Level(interval, wheelSize, currentTime);
+            }
+            return overflow;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.ok_jha.splitapp.scheduling;
+
+import com.ok_jha.splitapp.domain.entity.RecurringExpense;
+import com.ok_jha.splitapp.exception.ExpenseIngestionException;
+import com.ok_jha.splitapp.service.RecurringExpenseService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Materializes recurring expenses at their due time.
+ *
+ * How it works:
+ * - Claim: every claim-interval, lease the schedules due within the next 'horizon' (index range scan on
+ *   next_run_at, batched, SKIP LOCKED so nodes never claim the same rows). No full-table polling.
+ * - Wait: claimed schedules are put on an in-memory HierarchicalTimingWheel and fire at their exact time.
+ * - Fire: each due schedule is materialized through the expense ingestion path and advanced. If it is
+ *   still inside the lease window (e.g. catching up on many missed occurrences) it goes back on the wheel.
+ *
+ * Everything runs on a single thread, so the wheel and the bookkeeping below need no locking.
+ * After downtime, overdue schedules are claimed like any other (their next_run_at is in the past) and
+ * caught up claim-batch-size schedules and max-occurrences-per-run occurrences at a time.
+ *
+ * If the ingestion path (Kafka) is unavailable, the whole scheduler backs off exponentially instead of
+ * spending a send timeout (with a row lock held) on every due schedule; due work waits in memory.
+ * All times are UTC (see ClockConfig).
+ *
+ * splitapp.recurring.scheduler.enabled is checked at startup rather than with @ConditionalOnProperty:
+ * under Spring AOT (fast-startup profile) bean conditions are fixed at build time, so a runtime override
+ * would be silently ignored.
+ */
+@Component
+public class RecurringExpenseScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringExpenseScheduler.class);
+
+    private final RecurringExpenseService recurringExpenseService;
+    private final Clock clock;
+    private final boolean enabled;
+    private final String nodeId;
+    private final long tickMs;
+    private final Duration horizon;
+    private final Duration leaseGrace;
+    private final long claimIntervalMs;
+    private final int claimBatchSize;
+    private final int maxPending;
+    private final int dispatchBatchSize;
+    private final int maxOccurrencesPerRun;
+    private final long retryDelayMs;
+    private final long ingestionBackoffInitialMs;
+    private final long ingestionBackoffMaxMs;
+
+    private final ScheduledExecutorService executor;
+    private final HierarchicalTimingWheel<Long> wheel;
+    private final Set<Long> scheduledIds = new HashSet<>(); // ids on the wheel or in 'due', to avoid duplicates
+    private final ArrayDeque<Long> due = new ArrayDeque<>();
+    private long ingestionBackoffMs; // 0 while the ingestion path is healthy
+    private long pausedUntilMs;
+    private volatile boolean started;
+
+    public RecurringExpenseScheduler(
+            RecurringExpenseService recurringExpenseService,
+            Clock clock,
+            @Value("${splitapp.recurring.scheduler.enabled:true}") boolean enabled,
+            @Value("${splitapp.recurring.scheduler.tick-ms:1000}") long tickMs,
+            @Value("${splitapp.recurring.scheduler.wheel-size:64}") int wheelSize,
+            @Value("${splitapp.recurring.scheduler.horizon:PT10M}") Duration horizon,
+            @Value("${splitapp.recurring.scheduler.lease-grace:PT5M}") Duration leaseGrace,
+            @Value("${splitapp.recurring.scheduler.claim-interval-ms:120000}") long claimIntervalMs,
+            @Value("${splitapp.recurring.scheduler.claim-batch-size:500}") int claimBatchSize,
+            @Value("${splitapp.recurring.scheduler.max-pending:20000}") int maxPending,
+            @Value("${splitapp.recurring.scheduler.dispatch-batch-size:200}") int dispatchBatchSize,
+            @Value("${splitapp.recurring.scheduler.max-occurrences-per-run:50}") int maxOccurrencesPerRun,
+            @Value("${splitapp.recurring.scheduler.retry-delay-ms:30000}") long retryDelayMs,
+            @Value("${splitapp.recurring.scheduler.ingestion-backoff-initial-ms:1000}") long ingestionBackoffInitialMs,
+            @Value("${splitapp.recurring.scheduler.ingestion-backoff-max-ms:60000}") long ingestionBackoffMaxMs) {
+        if (claimIntervalMs >= horizon.toMillis()) {
+            // Otherwise schedules due between two claims could be picked up late
+            throw new IllegalArgumentException("splitapp.recurring.scheduler.claim-interval-ms must be shorter than the horizon");
+        }
+        this.recurringExpenseService = recurringExpenseService;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.nodeId = resolveNodeId();
+        this.tickMs = tickMs;
+        this.horizon = horizon;
+        this.leaseGrace = leaseGrace;
+        this.claimIntervalMs = claimIntervalMs;
+        this.claimBatchSize = claimBatchSize;
+        this.maxPending = maxPending;
+        this.dispatchBatchSize = dispatchBatchSize;
+        this.maxOccurrencesPerRun = maxOccurrencesPerRun;
+        this.retryDelayMs = retryDelayMs;
+        this.ingestionBackoffInitialMs = ingestionBackoffInitialMs;
+        this.ingestionBackoffMaxMs = ingestionBackoffMaxMs;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "recurring-expense-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, clock.millis());
+    }
+
+    // Start only once the application (DB, Kafka producer) is fully up
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Recurring expense scheduler is disabled on this node");
+            return;
+        }
+        started = true;
+        log.info("Starting recurring expense scheduler on node {}", nodeId);
+        executor.scheduleWithFixedDelay(safely(this::claim), 0, claimIntervalMs, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(safely(this::tick), tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!started) {
+            return; // Never claimed anything, so there are no leases to hand back
+        }
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+            // The scheduler thread may still be mid-task, so its bookkeeping can't be read safely
+            log.warn("Recurring expense scheduler did not stop in time; its leases will expire on their own");
+            return;
+        }
+        // Hand our schedules back so another node doesn't have to wait for the leases to expire.
+        // Every lease we hold is on the wheel or in 'due', so release exactly those (by primary key).
+        if (!scheduledIds.isEmpty()) {
+            recurringExpenseService.releaseLeases(nodeId, List.copyOf(scheduledIds));
+        }
+    }
+
+    // Package-private for tests
+    void claim() {
+        if (clock.millis() < pausedUntilMs) {
+            return; // Don't lease more work while we can't emit it
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime claimHorizon = now.plus(horizon);
+        LocalDateTime leaseUntil = claimHorizon.plus(leaseGrace);
+        int claimed;
+        do {
+            List<RecurringExpense> batch = recurringExpenseService.claimDue(nodeId, now, claimHorizon, leaseUntil, claimBatchSize);
+            for (RecurringExpense recurringExpense : batch) {
+                schedule(recurringExpense.getId(), toEpochMillis(recurringExpense.getNextRunAt()));
+            }
+            claimed = batch.size();
+            // Keep draining full batches (catch-up after downtime), but don't pull more than we can hold
+        } while (claimed == claimBatchSize && scheduledIds.size() < maxPending);
+    }
+
+    // Package-private for tests
+    void tick() {
+        long nowMs = clock.millis();
+        wheel.advanceTo(nowMs, due::add);
+        if (nowMs < pausedUntilMs) {
+            return; // Ingestion unavailable: due schedules wait in 'due'
+        }
+        // Bounded per tick so a large catch-up never starves the wheel; the rest waits for the next tick.
+        // Schedules re-queued while dispatching (still overdue after max-occurrences-per-run) go behind the others.
+        int batch = Math.min(dispatchBatchSize, due.size());
+        for (int i = 0; i < batch; i++) {
+            if (!fire(due.poll())) {
+                break;
+            }
+        }
+    }
+
+    // Returns false if the ingestion path is unavailable and dispatching should pause
+    private boolean fire(Long recurringExpenseId) {
+        scheduledIds.remove(recurringExpenseId);
+        try {
+            Optional<LocalDateTime> next = recurringExpenseService.materializeDue(
+                    recurringExpenseId, nodeId, LocalDateTime.now(clock), maxOccurrencesPerRun);
+            next.ifPresent(nextRunAt -> schedule(recurringExpenseId, toEpochMillis(nextRunAt)));
+            ingestionBackoffMs = 0;
+            return true;
+        } catch (ExpenseIngestionException e) {
+            // Kafka is down or slow: the transaction rolled back, so put the schedule back first in line and
+            // pause the whole scheduler rather than paying the send timeout for every due schedule
+            ingestionBackoffMs = ingestionBackoffMs == 0
+                    ? ingestionBackoffInitialMs
+                    : Math.min(ingestionBackoffMs * 2, ingestionBackoffMaxMs);
+            pausedUntilMs = clock.millis() + ingestionBackoffMs;
+            log.warn("Expense ingestion unavailable, pausing recurring expenses for {} ms: {}", ingestionBackoffMs, e.getMessage());
+            scheduledIds.add(recurringExpenseId);
+            due.addFirst(recurringExpenseId);
+            return false;
+        } catch (RuntimeException e) {
+            // We still hold the lease, so retry later; if this keeps failing the lease expires and another node takes over
+            log.error("Failed to materialize recurring expense {}, retrying in {} ms", recurringExpenseId, retryDelayMs, e);
+            schedule(recurringExpenseId, clock.millis() + retryDelayMs);
+            return true;
+        }
+    }
+
+    private void schedule(Long recurringExpenseId, long deadlineMs) {
+        if (!scheduledIds.add(recurringExpenseId)) {
+            return;
+        }
+        if (!wheel.add(recurringExpenseId, deadlineMs)) {
+            due.add(recurringExpenseId); // Already due (or overdue)
+        }
+    }
+
+    // Never let an exception cancel a periodic task
+    private Runnable safely(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Recurring expense scheduler task failed", e);
+            }
+        };
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown-host";
+        }
+        // Random suffix: a restarted pod must not inherit leases from its previous incarnation
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
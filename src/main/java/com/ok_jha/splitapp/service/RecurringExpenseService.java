@@ -0,0 +1,71 @@
+package com.ok_jha.splitapp.service;
+
+import com.ok_jha.splitapp.domain.entity.RecurrenceFrequency;
+import com.ok_jha.splitapp.domain.entity.RecurringExpense;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service layer interface for recurring expense definitions and their materialization.
+ */
+public interface RecurringExpenseService {
+
+    /**
+     * Defines a new recurring expense for a group. The first occurrence is at startsAt.
+     *
+     * @param groupId The ID of the group the expense belongs to.
+     * @param paidByUserId The ID of the member who pays each occurrence.
+     * @param description What the expense is for (e.g. "Rent").
+     * @param amount The amount of each occurrence.
+     * @param frequency How often it repeats.
+     * @param intervalCount Repeat every N periods of frequency (1 = every period).
+     * @param startsAt The first occurrence (UTC). Must not be in the past, beyond a few minutes of clock skew.
+     * @param endsAt Optional last possible occurrence (null = forever).
+     * @return The saved RecurringExpense.
+     * @throws ResourceNotFoundException if the group or user doesn't exist.
+     * @throws IllegalArgumentException if the payer is not a member, startsAt is in the past or the dates are inconsistent.
+     */
+    RecurringExpense createRecurringExpense(Long groupId, Long paidByUserId, String description, BigDecimal amount,
+                                            RecurrenceFrequency frequency, int intervalCount,
+                                            LocalDateTime startsAt, LocalDateTime endsAt);
+
+    /**
+     * Retrieves all recurring expenses defined for a group.
+     *
+     * @param groupId The ID of the group.
+     * @return The group's recurring expenses (can be empty).
+     * @throws ResourceNotFoundException if the group doesn't exist.
+     */
+    List<RecurringExpense> findByGroup(Long groupId);
+
+    /**
+     * Claims up to batchSize active schedules due before horizon that are not leased by another node,
+     * and leases them to owner until leaseUntil.
+     *
+     * @return The claimed schedules (only id and nextRunAt are meant to be read from them).
+     */
+    List<RecurringExpense> claimDue(String owner, LocalDateTime now, LocalDateTime horizon,
+                                    LocalDateTime leaseUntil, int batchSize);
+
+    /**
+     * Emits every due occurrence (up to maxOccurrences) of a schedule leased by owner through the
+     * expense ingestion path, and advances the schedule.
+     *
+     * @return The next run time if owner keeps the lease for it (it is still inside the lease window,
+     *         e.g. more catch-up is needed), otherwise empty and the lease is released.
+     */
+    Optional<LocalDateTime> materializeDue(Long recurringExpenseId, String owner, LocalDateTime now, int maxOccurrences);
+
+    /**
+     * Releases the given leases if owner still holds them, so other nodes can claim those schedules immediately.
+     *
+     * @param owner The node giving its leases back.
+     * @param recurringExpenseIds The schedules the node holds (ids it no longer owns are left untouched).
+     * @return The number of released schedules.
+     */
+    int releaseLeases(String owner, Collection<Long> recurringExpenseIds);
+}
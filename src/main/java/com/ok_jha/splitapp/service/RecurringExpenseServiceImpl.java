@@ -0,0 +1,169 @@
+package com.ok_jha.splitapp.service;
+
+import com.ok_jha.splitapp.domain.entity.Group;
+import com.ok_jha.splitapp.domain.entity.RecurrenceFrequency;
+import com.ok_jha.splitapp.domain.entity.RecurringExpense;
+import com.ok_jha.splitapp.domain.entity.User;
+import com.ok_jha.splitapp.domain.repository.GroupRepository;
+import com.ok_jha.splitapp.domain.repository.RecurringExpenseRepository;
+import com.ok_jha.splitapp.domain.repository.UserRepository;
+import com.ok_jha.splitapp.exception.ResourceNotFoundException;
+import com.ok_jha.splitapp.messaging.ExpenseIngestRequest;
+import com.ok_jha.splitapp.messaging.ExpenseIngestionPublisher;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class RecurringExpenseServiceImpl implements RecurringExpenseService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringExpenseServiceImpl.class);
+
+    // Absorbs client clock skew and request latency for schedules meant to start "now"
+    private static final Duration START_GRACE = Duration.ofMinutes(5);
+    // Keeps the IN list of a single release statement bounded
+    private static final int RELEASE_BATCH_SIZE = 1000;
+
+    private final RecurringExpenseRepository recurringExpenseRepository;
+    private final GroupRepository groupRepository;
+    private final UserRepository userRepository;
+    private final ExpenseIngestionPublisher expenseIngestionPublisher;
+    private final Clock clock;
+
+    @Override
+    @Transactional
+    public RecurringExpense createRecurringExpense(Long groupId, Long paidByUserId, String description, BigDecimal amount,
+                                                   RecurrenceFrequency frequency, int intervalCount,
+                                                   LocalDateTime startsAt, LocalDateTime endsAt) {
+        log.info("Creating recurring expense '{}' for group {}", description, groupId);
+
+        Group group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException("Group not found with ID: " + groupId));
+        User paidBy = userRepository.findById(paidByUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + paidByUserId));
+
+        if (!group.getMembers().contains(paidBy)) {
+            throw new IllegalArgumentException("The payer must be a member of the group.");
+        }
+        if (intervalCount < 1) {
+            throw new IllegalArgumentException("Interval must be at least 1.");
+        }
+        if (startsAt.isBefore(LocalDateTime.now(clock).minus(START_GRACE))) {
+            // Otherwise the first claim would catch up, and publish, every occurrence since startsAt at once
+            throw new IllegalArgumentException("Start date cannot be in the past.");
+        }
+        if (endsAt != null && endsAt.isBefore(startsAt)) {
+            throw new IllegalArgumentException("End date cannot be before start date.");
+        }
+
+        RecurringExpense recurringExpense = RecurringExpense.builder()
+                .group(group)
+                .paidBy(paidBy)
+                .description(description.trim())
+                .amount(amount)
+                .frequency(frequency)
+                .intervalCount(intervalCount)
+                .startsAt(startsAt)
+                .endsAt(endsAt)
+                .occurrenceCount(0)
+                .nextRunAt(startsAt) // The first occurrence is due at the start date
+                .active(true)
+                .build();
+
+        // Saved through the owning side only: adding it to group.getRecurringExpenses() would load the whole collection
+        RecurringExpense saved = recurringExpenseRepository.save(recurringExpense);
+        log.info("Created recurring expense with ID: {}", saved.getId());
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringExpense> findByGroup(Long groupId) {
+        Group group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException("Group not found with ID: " + groupId));
+        return recurringExpenseRepository.findByGroup(group);
+    }
+
+    @Override
+    @Transactional
+    public List<RecurringExpense> claimDue(String owner, LocalDateTime now, LocalDateTime horizon,
+                                           LocalDateTime leaseUntil, int batchSize) {
+        List<Long> ids = recurringExpenseRepository.lockClaimableIds(horizon, now, batchSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        recurringExpenseRepository.acquireLease(ids, owner, leaseUntil);
+        log.debug("Node {} claimed {} recurring expense(s) due before {}", owner, ids.size(), horizon);
+        return recurringExpenseRepository.findAllById(ids);
+    }
+
+    @Override
+    @Transactional
+    public Optional<LocalDateTime> materializeDue(Long recurringExpenseId, String owner, LocalDateTime now,
+                                                  int maxOccurrences) {
+        Optional<RecurringExpense> leased = recurringExpenseRepository.findLeasedBy(recurringExpenseId, owner, now);
+        if (leased.isEmpty()) {
+            // Lease expired and possibly taken over by another node: that node will emit the occurrence
+            log.warn("Node {} lost the lease on recurring expense {}, skipping", owner, recurringExpenseId);
+            return Optional.empty();
+        }
+        RecurringExpense recurringExpense = leased.get();
+
+        // Catch-up: after downtime several occurrences may be due; emit them oldest first, in bounded batches
+        List<ExpenseIngestRequest> occurrences = new ArrayList<>();
+        while (recurringExpense.isActive()
+                && recurringExpense.getNextRunAt() != null
+                && !recurringExpense.getNextRunAt().isAfter(now)
+                && occurrences.size() < maxOccurrences) {
+            occurrences.add(ExpenseIngestRequest.builder()
+                    // Stable per occurrence, so a retried publish is recognised as a duplicate downstream
+                    .idempotencyKey("recurring-" + recurringExpense.getId() + "-" + recurringExpense.getOccurrenceCount())
+                    .groupId(recurringExpense.getGroup().getId())
+                    .paidByUserId(recurringExpense.getPaidBy().getId())
+                    .description(recurringExpense.getDescription())
+                    .amount(recurringExpense.getAmount())
+                    .incurredAt(recurringExpense.getNextRunAt())
+                    .recurringExpenseId(recurringExpense.getId())
+                    .build());
+            recurringExpense.advance();
+        }
+        if (!occurrences.isEmpty()) {
+            // Throws on failure, rolling back the advance above so the occurrences are retried
+            expenseIngestionPublisher.publishAll(occurrences);
+            log.info("Materialized {} occurrence(s) of recurring expense {}", occurrences.size(), recurringExpenseId);
+        }
+
+        LocalDateTime next = recurringExpense.getNextRunAt();
+        if (recurringExpense.isActive() && next != null && next.isBefore(recurringExpense.getLeaseExpiresAt())) {
+            return Optional.of(next); // Keep the lease, the caller re-schedules it
+        }
+        recurringExpense.setLeaseOwner(null);
+        recurringExpense.setLeaseExpiresAt(null);
+        return Optional.empty();
+    }
+
+    @Override
+    @Transactional
+    public int releaseLeases(String owner, Collection<Long> recurringExpenseIds) {
+        List<Long> ids = List.copyOf(recurringExpenseIds);
+        int released = 0;
+        for (int from = 0; from < ids.size(); from += RELEASE_BATCH_SIZE) {
+            released += recurringExpenseRepository.releaseLeases(
+                    ids.subList(from, Math.min(from + RELEASE_BATCH_SIZE, ids.size())), owner);
+        }
+        log.info("Node {} released {} recurring expense lease(s)", owner, released);
+        return released;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ok_jha.splitapp.service;
 
 import com.ok_jha.splitapp.domain.entity.User;
+import com.ok_jha.splitapp.domain.repository.EntityVersion;
 
 import java.util.Optional;
 
@@ -46,6 +47,23 @@ public interface UserService {
      */
     Optional<User> findById(Long id);
 
+    /**
+     * Looks up only the id and last-modified timestamp of a user.
+     * Used for conditional GETs, so the full entity is never loaded when the client is up to date.
+     *
+     * @param id The ID of the user.
+     * @return An Optional containing the version info if found, otherwise empty.
+     */
+    Optional<EntityVersion> findVersionById(Long id);
+
+    /**
+     * Looks up only the id and last-modified timestamp of a user by username.
+     *
+     * @param username The username to search for.
+     * @return An Optional containing the version info if found, otherwise empty.
+     */
+    Optional<EntityVersion> findVersionByUsername(String username);
+
     // We can add more methods later, like:
     // updateUserProfile(...)
     // changePassword(...)
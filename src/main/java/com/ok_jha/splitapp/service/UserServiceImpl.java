@@ -1,6 +1,7 @@
 package com.ok_jha.splitapp.service;
 
 import com.ok_jha.splitapp.domain.entity.User;
+import com.ok_jha.splitapp.domain.repository.EntityVersion;
 import com.ok_jha.splitapp.domain.repository.UserRepository;
 import jakarta.validation.Validator; // Optional: For programmatic validation if needed
 import lombok.RequiredArgsConstructor; // Lombok: Generates constructor for final fields
@@ -91,4 +92,18 @@ public class UserServiceImpl implements UserService {
         log.debug("Finding user by ID: {}", id);
         return userRepository.findById(id);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EntityVersion> findVersionById(Long id) {
+        log.debug("Finding version of user by ID: {}", id);
+        return userRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EntityVersion> findVersionByUsername(String username) {
+        log.debug("Finding version of user by username: {}", username);
+        return userRepository.findVersionByUsername(username);
+    }
 }
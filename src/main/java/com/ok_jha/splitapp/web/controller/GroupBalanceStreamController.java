@@ -0,0 +1,34 @@
+package com.ok_jha.splitapp.web.controller;
+
+import com.ok_jha.splitapp.web.sse.GroupBalanceBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/groups")
+@RequiredArgsConstructor
+public class GroupBalanceStreamController {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupBalanceStreamController.class);
+
+    private final GroupBalanceBroadcaster broadcaster;
+
+    /**
+     * Server-Sent Events stream of balance changes for a group.
+     * Handles GET requests to /api/v1/groups/{groupId}/balances/stream
+     * Each event is named "balance" and carries a GroupBalanceUpdate as JSON.
+     * TODO: Check group membership of the caller once authentication is in place.
+     */
+    @GetMapping(path = "/{groupId}/balances/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGroupBalances(@PathVariable Long groupId) {
+        log.debug("Opening balance stream for group: {}", groupId);
+        return broadcaster.subscribe(groupId);
+    }
+}
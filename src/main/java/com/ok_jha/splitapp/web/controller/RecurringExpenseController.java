@@ -0,0 +1,84 @@
+package com.ok_jha.splitapp.web.controller;
+
+import com.ok_jha.splitapp.domain.entity.RecurringExpense;
+import com.ok_jha.splitapp.service.RecurringExpenseService;
+import com.ok_jha.splitapp.web.dto.CreateRecurringExpenseRequest;
+import com.ok_jha.splitapp.web.dto.RecurringExpenseResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/groups/{groupId}/recurring-expenses")
+@RequiredArgsConstructor
+public class RecurringExpenseController {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringExpenseController.class);
+
+    private final RecurringExpenseService recurringExpenseService;
+
+    /**
+     * Endpoint for defining a new recurring expense on a group.
+     * Handles POST requests to /api/v1/groups/{groupId}/recurring-expenses
+     * Occurrences are materialized automatically by the scheduler from startsAt onwards.
+     */
+    @PostMapping
+    public ResponseEntity<?> createRecurringExpense(@PathVariable Long groupId,
+                                                    @Valid @RequestBody CreateRecurringExpenseRequest requestDto) {
+        log.info("Received recurring expense request for group: {}", groupId);
+        try {
+            RecurringExpense recurringExpense = recurringExpenseService.createRecurringExpense(
+                    groupId,
+                    requestDto.getPaidByUserId(),
+                    requestDto.getDescription(),
+                    requestDto.getAmount(),
+                    requestDto.getFrequency(),
+                    requestDto.getIntervalCount(),
+                    requestDto.getStartsAt(),
+                    requestDto.getEndsAt()
+            );
+            return ResponseEntity.status(HttpStatus.CREATED).body(convertToResponseDto(recurringExpense));
+        } catch (IllegalArgumentException e) {
+            log.warn("Recurring expense creation failed: {}", e.getMessage());
+            // TODO: Implement global exception handling (@RestControllerAdvice) later for cleaner code
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        // ResourceNotFoundException (unknown group/user) propagates and is mapped to 404 by its @ResponseStatus
+    }
+
+    /**
+     * Endpoint for listing the recurring expenses of a group.
+     * Handles GET requests to /api/v1/groups/{groupId}/recurring-expenses
+     */
+    @GetMapping
+    public ResponseEntity<List<RecurringExpenseResponse>> getRecurringExpenses(@PathVariable Long groupId) {
+        log.debug("Received request to list recurring expenses for group: {}", groupId);
+        List<RecurringExpenseResponse> response = recurringExpenseService.findByGroup(groupId).stream()
+                .map(this::convertToResponseDto)
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
+    // --- Private Helper Method for DTO Conversion ---
+    private RecurringExpenseResponse convertToResponseDto(RecurringExpense recurringExpense) {
+        return RecurringExpenseResponse.builder()
+                .id(recurringExpense.getId())
+                .groupId(recurringExpense.getGroup().getId())
+                .paidByUserId(recurringExpense.getPaidBy().getId())
+                .description(recurringExpense.getDescription())
+                .amount(recurringExpense.getAmount())
+                .frequency(recurringExpense.getFrequency())
+                .intervalCount(recurringExpense.getIntervalCount())
+                .startsAt(recurringExpense.getStartsAt())
+                .endsAt(recurringExpense.getEndsAt())
+                .nextRunAt(recurringExpense.getNextRunAt())
+                .active(recurringExpense.isActive())
+                .build();
+    }
+}
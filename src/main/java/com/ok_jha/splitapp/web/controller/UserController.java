@@ -1,9 +1,11 @@
 package com.ok_jha.splitapp.web.controller;
 
 import com.ok_jha.splitapp.domain.entity.User;
+import com.ok_jha.splitapp.domain.repository.EntityVersion;
 import com.ok_jha.splitapp.service.UserService;
 import com.ok_jha.splitapp.web.dto.RegisterUserRequest;
 import com.ok_jha.splitapp.web.dto.UserResponse;
+import com.ok_jha.splitapp.web.support.EntityTags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,6 +13,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*; // Spring Web annotations
@@ -67,34 +70,67 @@ public class UserController {
     /**
      * Endpoint for retrieving a user by username.
      * Handles GET requests to /api/v1/users/username/{username}
+     * Supports conditional GETs: if If-None-Match matches the current ETag, returns 304 without loading the user.
      */
     @GetMapping("/username/{username}") // Maps HTTP GET requests with a path variable
-    public ResponseEntity<UserResponse> getUserByUsername(@PathVariable String username) {
+    public ResponseEntity<UserResponse> getUserByUsername(
+            @PathVariable String username,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         // @PathVariable: Extracts the value from the URL path
         log.debug("Received request to find user by username: {}", username);
-        Optional<User> userOptional = userService.findByUsername(username);
+        if (ifNoneMatch != null) {
+            // Cheap path: only id + updatedAt are selected, no entity hydration or JSON serialization
+            Optional<EntityVersion> version = userService.findVersionByUsername(username);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String eTag = EntityTags.of(version.get());
+            if (EntityTags.matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
 
+        Optional<User> userOptional = userService.findByUsername(username);
         return userOptional
-                .map(this::convertToResponseDto) // Convert User to UserResponse if present
-                .map(ResponseEntity::ok) // If present, wrap in ResponseEntity with status 200 OK
+                .map(this::toOkResponse) // If present, wrap in ResponseEntity with status 200 OK and ETag
                 .orElseGet(() -> ResponseEntity.notFound().build()); // If not present, return 404 Not Found
     }
 
     /**
      * Endpoint for retrieving a user by ID.
      * Handles GET requests to /api/v1/users/{id}
+     * Supports conditional GETs the same way as getUserByUsername.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponse> getUserById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Received request to find user by ID: {}", id);
+        if (ifNoneMatch != null) {
+            Optional<EntityVersion> version = userService.findVersionById(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String eTag = EntityTags.of(version.get());
+            if (EntityTags.matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+
         Optional<User> userOptional = userService.findById(id);
         return userOptional
-                .map(this::convertToResponseDto)
-                .map(ResponseEntity::ok)
+                .map(this::toOkResponse)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
 
+    // Wraps the user in a 200 OK response carrying its ETag, so clients can revalidate later
+    private ResponseEntity<UserResponse> toOkResponse(User user) {
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(user.getId(), user.getUpdatedAt()))
+                .body(convertToResponseDto(user));
+    }
+
     // --- Private Helper Method for DTO Conversion ---
     // TODO: Consider using a mapping library like MapStruct for more complex scenarios
     private UserResponse convertToResponseDto(User user) {
@@ -0,0 +1,38 @@
+package com.ok_jha.splitapp.web.dto;
+
+import com.ok_jha.splitapp.domain.entity.RecurrenceFrequency;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class CreateRecurringExpenseRequest {
+
+    @NotNull(message = "Payer is required")
+    private Long paidByUserId;
+
+    @NotBlank(message = "Description cannot be empty")
+    @Size(max = 255, message = "Description cannot exceed 255 characters")
+    private String description;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be positive")
+    private BigDecimal amount;
+
+    @NotNull(message = "Frequency is required")
+    private RecurrenceFrequency frequency;
+
+    @Min(value = 1, message = "Interval must be at least 1")
+    private int intervalCount = 1; // Default: every period
+
+    @NotNull(message = "Start date is required")
+    private LocalDateTime startsAt; // UTC. Must not be in the past (backdated schedules are not caught up)
+
+    private LocalDateTime endsAt; // UTC. Optional: repeats forever if absent
+}
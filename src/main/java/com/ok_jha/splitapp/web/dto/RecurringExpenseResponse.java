@@ -0,0 +1,28 @@
+package com.ok_jha.splitapp.web.dto;
+
+import com.ok_jha.splitapp.domain.entity.RecurrenceFrequency;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringExpenseResponse {
+    private Long id;
+    private Long groupId;
+    private Long paidByUserId;
+    private String description;
+    private BigDecimal amount;
+    private RecurrenceFrequency frequency;
+    private int intervalCount;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private LocalDateTime nextRunAt;
+    private boolean active;
+}
@@ -0,0 +1,301 @@
+package com.ok_jha.splitapp.web.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ok_jha.splitapp.messaging.GroupBalanceUpdate;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes group balance changes to SSE subscribers.
+ *
+ * How it stays cheap with many connections:
+ * - Registry: ConcurrentHashMap of groupId -> channel, each with a concurrent subscriber set. Joining and
+ *   leaving a channel only take that key's bin lock (compute/computeIfPresent), never a global lock.
+ * - Coalescing: publish() only records the latest frame per group and marks it dirty. A ticker flushes dirty
+ *   groups at most maxPushesPerSecond times per second, so a burst of N updates becomes one push.
+ * - Slow consumers: each subscriber buffers exactly one pending frame (drop-to-latest) and has at most one
+ *   send in flight, so a stuck client never grows memory.
+ * - Stalled clients: SseEmitter.send is a blocking servlet write, so a client that stops reading holds a
+ *   sender thread until Tomcat's write timeout (server.tomcat.connection-timeout) fails the write and the
+ *   subscriber is dropped. Until then up to sender-threads stalled clients can delay pushes to everyone
+ *   else by at most that timeout; size sender-threads for the expected number of concurrently stalled clients.
+ * - Dead connections: a heartbeat comment is sent every heartbeat-interval-ms, so broken connections in
+ *   quiet groups fail a write and are dropped instead of lingering until the emitter timeout.
+ * - Serialization: the JSON is produced once per group update, not once per subscriber.
+ */
+@Component
+public class GroupBalanceBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupBalanceBroadcaster.class);
+
+    static final String EVENT_NAME = "balance";
+
+    // Sentinel for "send a heartbeat comment"; any real frame offered later replaces it
+    private static final Frame HEARTBEAT = new Frame(0, null);
+
+    private final ConcurrentHashMap<Long, GroupChannel> channels = new ConcurrentHashMap<>();
+    private final Set<GroupChannel> dirtyChannels = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService senders;
+
+    public GroupBalanceBroadcaster(
+            ObjectMapper objectMapper,
+            @Value("${splitapp.balance-stream.max-pushes-per-second:4}") int maxPushesPerSecond,
+            @Value("${splitapp.balance-stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${splitapp.balance-stream.sender-threads:32}") int senderThreads,
+            @Value("${splitapp.balance-stream.heartbeat-interval-ms:15000}") long heartbeatIntervalMs) {
+        if (maxPushesPerSecond <= 0) {
+            throw new IllegalArgumentException("splitapp.balance-stream.max-pushes-per-second must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("balance-stream-ticker"));
+        this.senders = Executors.newFixedThreadPool(senderThreads, daemonThreads("balance-stream-sender"));
+
+        long periodMicros = TimeUnit.SECONDS.toMicros(1) / maxPushesPerSecond;
+        this.ticker.scheduleAtFixedRate(this::flushDirtyChannels, periodMicros, periodMicros, TimeUnit.MICROSECONDS);
+        this.ticker.scheduleAtFixedRate(this::sendHeartbeats, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a new SSE stream for a group. If a balance snapshot is already known on this node it is sent
+     * immediately, so new subscribers don't wait for the next change.
+     *
+     * @param groupId The ID of the group to follow.
+     * @return The emitter to return from the controller.
+     */
+    public SseEmitter subscribe(Long groupId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = register(groupId, emitter);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> {
+            unsubscribe(subscriber);
+            // Completing here ends the response cleanly; otherwise Spring falls through to AsyncRequestTimeoutException
+            emitter.complete();
+        });
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        Frame latest = subscriber.channel.latest.get();
+        if (latest != null) {
+            subscriber.offer(latest);
+        }
+        log.debug("SSE subscriber added for group {} (node total: {})", groupId, subscriberCount.get());
+        return emitter;
+    }
+
+    // Adds the subscriber under the key's bin lock, so it cannot race with the last subscriber leaving
+    // (unsubscribe's empty-check-and-remove runs under the same lock) and end up on an unreachable channel.
+    Subscriber register(Long groupId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        channels.compute(groupId, (id, existing) -> {
+            GroupChannel channel = existing != null ? existing : new GroupChannel(id);
+            subscriber.channel = channel;
+            channel.subscribers.add(subscriber);
+            return channel;
+        });
+        subscriberCount.incrementAndGet();
+        return subscriber;
+    }
+
+    /**
+     * Records a new balance snapshot for a group. Delivery happens on the next tick, coalesced with any
+     * other updates for the same group that arrive before it.
+     * Groups with no subscribers on this node are ignored (nothing is buffered for them).
+     */
+    public void publish(GroupBalanceUpdate update) {
+        GroupChannel channel = channels.get(update.getGroupId());
+        if (channel == null) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize balance update for group {}", update.getGroupId(), e);
+            return;
+        }
+        channel.latest.set(new Frame(channel.sequence.incrementAndGet(), json));
+        dirtyChannels.add(channel);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    // Package-private for tests: true if publish() for the subscriber's group reaches it
+    boolean isReachable(Subscriber subscriber) {
+        GroupChannel channel = channels.get(subscriber.channel.groupId);
+        return channel == subscriber.channel && channel.subscribers.contains(subscriber);
+    }
+
+    // Package-private for tests
+    int getChannelCount() {
+        return channels.size();
+    }
+
+    private void flushDirtyChannels() {
+        try {
+            for (Iterator<GroupChannel> it = dirtyChannels.iterator(); it.hasNext(); ) {
+                GroupChannel channel = it.next();
+                // Remove before reading 'latest': a publish racing with us re-marks the channel for the next tick
+                it.remove();
+                Frame frame = channel.latest.get();
+                for (Subscriber subscriber : channel.subscribers) {
+                    subscriber.offer(frame);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the scheduled ticker
+            log.error("Balance stream flush failed", e);
+        }
+    }
+
+    private void sendHeartbeats() {
+        try {
+            for (GroupChannel channel : channels.values()) {
+                for (Subscriber subscriber : channel.subscribers) {
+                    subscriber.offerHeartbeat();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Balance stream heartbeat failed", e);
+        }
+    }
+
+    void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        GroupChannel channel = subscriber.channel;
+        channel.subscribers.remove(subscriber);
+        subscriberCount.decrementAndGet();
+        // Empty-check-and-remove under the key's bin lock; a concurrent register() either ran before
+        // (channel not empty, kept) or runs after (creates a fresh channel)
+        channels.computeIfPresent(channel.groupId, (id, current) -> {
+            if (current != channel || !current.subscribers.isEmpty()) {
+                return current;
+            }
+            dirtyChannels.remove(current);
+            return null;
+        });
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // A pre-serialized event, shared by all subscribers of a group
+    private record Frame(long id, String json) {
+    }
+
+    private static final class GroupChannel {
+        private final Long groupId;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicReference<Frame> latest = new AtomicReference<>();
+        private final AtomicLong sequence = new AtomicLong();
+
+        private GroupChannel(Long groupId) {
+            this.groupId = groupId;
+        }
+    }
+
+    final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicReference<Frame> pending = new AtomicReference<>(); // bounded buffer of one
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile GroupChannel channel;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Drop-to-latest: an unsent older frame is simply overwritten
+        void offer(Frame frame) {
+            pending.set(frame);
+            scheduleDrain();
+        }
+
+        // Only if nothing is pending: a real frame already proves the connection is alive
+        void offerHeartbeat() {
+            if (pending.compareAndSet(null, HEARTBEAT)) {
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (closed.get() || !sending.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                sending.set(false); // shutting down
+            }
+        }
+
+        private void drain() {
+            try {
+                Frame frame;
+                while (!closed.get() && (frame = pending.getAndSet(null)) != null) {
+                    if (frame == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(frame.id()))
+                            .name(EVENT_NAME)
+                            .data(frame.json(), MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or emitter already completed; the container completes the async request itself
+                log.debug("Dropping SSE subscriber for group {}: {}", channel.groupId, e.getMessage());
+                unsubscribe(this);
+            } finally {
+                sending.set(false);
+            }
+            // A frame may have arrived after the loop saw 'pending' empty but before 'sending' was cleared
+            if (pending.get() != null) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ok_jha.splitapp.web.support;
+
+import com.ok_jha.splitapp.domain.repository.EntityVersion;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Helpers for deriving strong ETags from an entity's id and updatedAt timestamp,
+ * and for evaluating If-None-Match headers against them.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * Builds a strong ETag (quoted, as required by RFC 9110) for the given entity version.
+     * Why truncate to micros?: PostgreSQL timestamps keep microsecond precision, so the value read back
+     *                         from the DB must produce the same tag as the in-memory one.
+     */
+    public static String of(Long id, LocalDateTime updatedAt) {
+        LocalDateTime ts = updatedAt.truncatedTo(ChronoUnit.MICROS);
+        long micros = ts.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + ts.getNano() / 1_000L;
+        return "\"" + Long.toHexString(id) + "-" + Long.toHexString(micros) + "\"";
+    }
+
+    public static String of(EntityVersion version) {
+        return of(version.getId(), version.getUpdatedAt());
+    }
+
+    /**
+     * Checks whether an If-None-Match header value matches the current ETag.
+     * Uses weak comparison (W/ prefixes are ignored), which is what RFC 9110 specifies for If-None-Match.
+     *
+     * @param ifNoneMatch The raw header value (may contain several comma-separated tags or "*").
+     * @param currentETag The ETag of the current representation.
+     * @return true if the client's cached copy is still current.
+     */
+    public static boolean matches(String ifNoneMatch, String currentETag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(currentETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
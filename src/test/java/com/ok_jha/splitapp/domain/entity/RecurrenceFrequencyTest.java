@@ -0,0 +1,48 @@
+package com.ok_jha.splitapp.domain.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurrenceFrequencyTest {
+
+    @Test
+    void monthlyScheduleStartingOnThe31stDoesNotDrift() {
+        LocalDateTime startsAt = LocalDateTime.of(2025, 1, 31, 9, 0);
+
+        assertThat(RecurrenceFrequency.MONTHLY.occurrence(startsAt, 1, 1)).isEqualTo(LocalDateTime.of(2025, 2, 28, 9, 0));
+        assertThat(RecurrenceFrequency.MONTHLY.occurrence(startsAt, 1, 2)).isEqualTo(LocalDateTime.of(2025, 3, 31, 9, 0));
+        assertThat(RecurrenceFrequency.MONTHLY.occurrence(startsAt, 1, 3)).isEqualTo(LocalDateTime.of(2025, 4, 30, 9, 0));
+        assertThat(RecurrenceFrequency.MONTHLY.occurrence(startsAt, 1, 13)).isEqualTo(LocalDateTime.of(2026, 2, 28, 9, 0));
+    }
+
+    @Test
+    void advanceWalksMonthEndsAndStopsAfterEndDate() {
+        RecurringExpense rent = RecurringExpense.builder()
+                .frequency(RecurrenceFrequency.MONTHLY)
+                .intervalCount(1)
+                .startsAt(LocalDateTime.of(2024, 1, 31, 0, 0))
+                .endsAt(LocalDateTime.of(2024, 3, 31, 0, 0))
+                .nextRunAt(LocalDateTime.of(2024, 1, 31, 0, 0))
+                .active(true)
+                .build();
+
+        rent.advance();
+        assertThat(rent.getNextRunAt()).isEqualTo(LocalDateTime.of(2024, 2, 29, 0, 0));
+        rent.advance();
+        assertThat(rent.getNextRunAt()).isEqualTo(LocalDateTime.of(2024, 3, 31, 0, 0));
+        rent.advance();
+        assertThat(rent.getNextRunAt()).isNull();
+        assertThat(rent.isActive()).isFalse();
+        assertThat(rent.getOccurrenceCount()).isEqualTo(3);
+    }
+
+    @Test
+    void intervalCountMultipliesThePeriod() {
+        LocalDateTime startsAt = LocalDateTime.of(2025, 6, 2, 0, 0);
+
+        assertThat(RecurrenceFrequency.WEEKLY.occurrence(startsAt, 2, 3)).isEqualTo(LocalDateTime.of(2025, 7, 14, 0, 0));
+    }
+}
@@ -0,0 +1,56 @@
+package com.ok_jha.splitapp.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Stored p99 latencies (in milliseconds) per load-test operation, kept as a properties file in the repo.
+ */
+final class LatencyBaseline {
+
+    private final Map<String, Double> p99Millis;
+
+    private LatencyBaseline(Map<String, Double> p99Millis) {
+        this.p99Millis = p99Millis;
+    }
+
+    static LatencyBaseline load(Path file) throws IOException {
+        Map<String, Double> values = new TreeMap<>();
+        if (Files.exists(file)) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+            properties.stringPropertyNames()
+                    .forEach(name -> values.put(name, Double.parseDouble(properties.getProperty(name))));
+        }
+        return new LatencyBaseline(values);
+    }
+
+    OptionalDouble p99Millis(String operation) {
+        Double value = p99Millis.get(operation);
+        return value != null ? OptionalDouble.of(value) : OptionalDouble.empty();
+    }
+
+    static void write(Path file, Map<String, Double> p99MillisByOperation, String recordedWith) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write("# p99 latency baseline (milliseconds) per operation for RestApiLoadTest.\n");
+            writer.write("# Recorded with: " + recordedWith + "\n");
+            writer.write("# Only comparable on the same hardware with the same load settings.\n");
+            writer.write("# Every operation needs an entry: the load test fails for operations missing here.\n");
+            writer.write("# Regenerate on a quiet machine with: mvn -Pload-test test -Dloadtest.updateBaseline=true\n");
+            for (Map.Entry<String, Double> entry : new TreeMap<>(p99MillisByOperation).entrySet()) {
+                writer.write(entry.getKey() + "=" + String.format(Locale.ROOT, "%.3f", entry.getValue()) + "\n");
+            }
+        }
+    }
+}
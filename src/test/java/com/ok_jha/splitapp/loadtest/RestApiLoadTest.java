@@ -0,0 +1,488 @@
+package com.ok_jha.splitapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ok_jha.splitapp.domain.entity.Group;
+import com.ok_jha.splitapp.domain.entity.RecurrenceFrequency;
+import com.ok_jha.splitapp.domain.entity.RecurringExpense;
+import com.ok_jha.splitapp.domain.repository.GroupRepository;
+import com.ok_jha.splitapp.domain.repository.RecurringExpenseRepository;
+import com.ok_jha.splitapp.domain.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for the REST API. Only runs with the load-test Maven profile (mvn -Pload-test test).
+ *
+ * Boots the full application on embedded Postgres (zonky) and embedded Kafka, seeds users and groups,
+ * then drives a weighted request mix: warm-up first (not recorded), then loadtest.durationSeconds of
+ * recorded traffic. Latencies go into one HdrHistogram per operation.
+ *
+ * Open loop, below saturation: loadtest.clients threads together send loadtest.requestsPerSecond, each on
+ * a fixed schedule. A saturated server would make every p99 measure queueing rather than the endpoint, so
+ * the test fails if the achieved rate falls short of the target. A request that overruns its slot is
+ * recorded with recordValueWithExpectedInterval, so the requests that should have been sent meanwhile are
+ * counted too (coordinated omission correction).
+ *
+ * Registration is BCrypt-bound (~100 ms of CPU each) and would dominate the CPU, so it is not part of the
+ * gated mix: it runs alongside at loadtest.registrationsPerSecond and is reported, but only its error rate
+ * is checked.
+ *
+ * The test fails if a gated operation's p99 exceeds its stored baseline by more than loadtest.tolerance
+ * and by more than loadtest.toleranceFloorMs (so a few milliseconds of noise on a fast endpoint never fail
+ * the build), if a gated operation has no baseline entry, or if more than 1% of any operation's requests fail.
+ * The baseline is only meaningful on the hardware and with the settings it was recorded with.
+ *
+ * Steady state: every request must cost the same at the end of the run as at the start. Listing returns
+ * every recurring expense of a group, so LIST_RECURRING_EXPENSES only reads "read groups" seeded with a
+ * fixed number of rows, and CREATE_RECURRING_EXPENSE only writes to separate "write groups" that are
+ * never listed.
+ *
+ * Group membership changes are not part of the mix yet: there is no group membership endpoint to drive.
+ */
+@Tag("load-test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // SQL logging and the scheduler would distort the numbers
+        "spring.jpa.show-sql=false",
+        "splitapp.recurring.scheduler.enabled=false",
+        "logging.level.root=WARN"
+})
+@EmbeddedKafka(partitions = 1, topics = {"group-balance-updates", "expense-ingest"})
+class RestApiLoadTest {
+
+    private static final int SEED_USERS = 200;
+    private static final int SEED_GROUPS = 40;
+    private static final int READ_GROUPS = SEED_GROUPS / 2; // groups [0, READ_GROUPS) are read, the rest written
+    private static final int MEMBERS_PER_GROUP = 5;
+    private static final int RECURRING_EXPENSES_PER_READ_GROUP = 10;
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    private static final double MIN_ACHIEVED_RATE = 0.95;
+
+    // Weighted mix, roughly what a polling client population looks like: mostly reads, some writes.
+    // Weight 0: not part of the gated mix, driven separately at a fixed low rate.
+    private enum Operation {
+        REGISTER_USER(0, 201),
+        GET_USER_BY_ID(40, 200),
+        GET_USER_BY_USERNAME(15, 200),
+        CONDITIONAL_GET_USER(20, 304),
+        CREATE_RECURRING_EXPENSE(15, 201),
+        LIST_RECURRING_EXPENSES(10, 200);
+
+        private final int weight;
+        private final int expectedStatus;
+
+        Operation(int weight, int expectedStatus) {
+            this.weight = weight;
+            this.expectedStatus = expectedStatus;
+        }
+
+        boolean isGated() {
+            return weight > 0;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private RecurringExpenseRepository recurringExpenseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong registrationCounter = new AtomicLong();
+
+    private long[] userIds;
+    private String[] usernames;
+    private String[] eTags;
+    private long[] groupIds;
+    private long[][] groupMembers;
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Test
+    void restApiLatencyDoesNotRegress() throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 16);
+        double requestsPerSecond = Double.parseDouble(System.getProperty("loadtest.requestsPerSecond", "50"));
+        double registrationsPerSecond = Double.parseDouble(System.getProperty("loadtest.registrationsPerSecond", "0.5"));
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 30);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 120);
+        double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.20"));
+        double toleranceFloorMs = Double.parseDouble(System.getProperty("loadtest.toleranceFloorMs", "10"));
+        boolean updateBaseline = Boolean.getBoolean("loadtest.updateBaseline");
+        Path baselineFile = Path.of(System.getProperty("loadtest.baselineFile", "src/test/resources/load-test/baseline.properties"));
+        Path reportDir = Path.of(System.getProperty("loadtest.reportDir", "target/load-test"));
+
+        seedUsers();
+        seedGroups();
+
+        runPhase(clients, requestsPerSecond, registrationsPerSecond, warmupSeconds, null, null);
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+        long sent = runPhase(clients, requestsPerSecond, registrationsPerSecond, durationSeconds, histograms, errors);
+
+        Map<String, Double> p99Millis = report(histograms, errors, durationSeconds, requestsPerSecond, sent, reportDir);
+
+        List<String> failures = new ArrayList<>();
+        double achievedRate = (double) sent / durationSeconds;
+        if (achievedRate < requestsPerSecond * MIN_ACHIEVED_RATE) {
+            failures.add(String.format(Locale.ROOT, "achieved %.1f req/s of the %.1f req/s target: the machine is saturated, "
+                    + "so latencies would measure queueing; lower loadtest.requestsPerSecond", achievedRate, requestsPerSecond));
+        }
+
+        if (updateBaseline) {
+            assertThat(failures).as("Load test run not usable as a baseline").isEmpty();
+            Map<String, Double> gated = new LinkedHashMap<>();
+            for (Operation operation : Operation.values()) {
+                if (operation.isGated()) {
+                    gated.put(operation.name(), p99Millis.get(operation.name()));
+                }
+            }
+            LatencyBaseline.write(baselineFile, gated, String.format(Locale.ROOT,
+                    "%d CPU(s), %d clients, %.1f req/s, %.1f registrations/s, %ds warm-up, %ds measured",
+                    Runtime.getRuntime().availableProcessors(), clients, requestsPerSecond, registrationsPerSecond,
+                    warmupSeconds, durationSeconds));
+            System.out.println("Load test baseline written to " + baselineFile);
+            return;
+        }
+
+        LatencyBaseline baseline = LatencyBaseline.load(baselineFile);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            long total = histogram.getTotalCount() + errors.get(operation).sum();
+            if (total > 0 && (double) errors.get(operation).sum() / total > MAX_ERROR_RATE) {
+                failures.add(String.format(Locale.ROOT, "%s: %d of %d requests failed",
+                        operation, errors.get(operation).sum(), total));
+            }
+            if (!operation.isGated()) {
+                continue;
+            }
+            OptionalDouble expected = baseline.p99Millis(operation.name());
+            double actual = p99Millis.get(operation.name());
+            if (expected.isEmpty()) {
+                // Otherwise a new operation (or an empty baseline file) would silently never be checked
+                failures.add(String.format(Locale.ROOT, "%s: no baseline entry in %s, record one with -Dloadtest.updateBaseline=true",
+                        operation, baselineFile));
+            } else if (actual > Math.max(expected.getAsDouble() * (1 + tolerance), expected.getAsDouble() + toleranceFloorMs)) {
+                failures.add(String.format(Locale.ROOT, "%s: p99 %.2f ms exceeds baseline %.2f ms by more than %.0f%% and %.0f ms",
+                        operation, actual, expected.getAsDouble(), tolerance * 100, toleranceFloorMs));
+            }
+        }
+        assertThat(failures).as("Load test regressions").isEmpty();
+    }
+
+    // --- Phases ---
+
+    // Runs the gated mix open loop at requestsPerSecond, plus registrations on their own thread, for the given
+    // time. Records into the histograms unless they are null (warm-up). Returns the number of gated requests sent.
+    private long runPhase(int clients, double requestsPerSecond, double registrationsPerSecond, int seconds,
+                          Map<Operation, Histogram> histograms, Map<Operation, LongAdder> errors) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        LongAdder sent = new LongAdder();
+        ExecutorService threads = Executors.newFixedThreadPool(clients + 1);
+        // Each client sends one request per interval, so together they add up to the target rate
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) * clients / requestsPerSecond);
+        for (int i = 0; i < clients; i++) {
+            threads.execute(() -> runFixedRate(intervalNanos, deadline, this::pickOperation, histograms, errors, sent));
+        }
+        if (registrationsPerSecond > 0) {
+            long registrationIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / registrationsPerSecond);
+            threads.execute(() -> runFixedRate(registrationIntervalNanos, deadline, random -> Operation.REGISTER_USER,
+                    histograms, errors, new LongAdder()));
+        }
+        threads.shutdown();
+        assertThat(threads.awaitTermination(seconds + 60L, TimeUnit.SECONDS)).as("load clients finished").isTrue();
+        return sent.sum();
+    }
+
+    // One client on a fixed schedule. A request that overruns its slot delays the next one, but the slots it
+    // covered are not sent late in a burst: they are skipped and accounted for by recordValueWithExpectedInterval.
+    private void runFixedRate(long intervalNanos, long deadline, Function<ThreadLocalRandom, Operation> next,
+                              Map<Operation, Histogram> histograms, Map<Operation, LongAdder> errors, LongAdder sent) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long intervalMicros = TimeUnit.NANOSECONDS.toMicros(intervalNanos);
+        long slot = System.nanoTime() + random.nextLong(intervalNanos); // Spread the clients over the interval
+        while (slot < deadline) {
+            long now;
+            while ((now = System.nanoTime()) < slot) {
+                LockSupport.parkNanos(slot - now);
+            }
+            Operation operation = next.apply(random);
+            long start = System.nanoTime();
+            int status = execute(operation, random);
+            long finished = System.nanoTime();
+            sent.increment();
+            if (histograms != null) {
+                if (status == operation.expectedStatus) {
+                    long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(finished - start), MAX_LATENCY_MICROS);
+                    histograms.get(operation).recordValueWithExpectedInterval(micros, intervalMicros);
+                } else {
+                    errors.get(operation).increment();
+                }
+            }
+            slot += intervalNanos;
+            if (slot < finished) {
+                slot += ((finished - slot) / intervalNanos + 1) * intervalNanos;
+            }
+        }
+    }
+
+    private Operation pickOperation(ThreadLocalRandom random) {
+        int totalWeight = 0;
+        for (Operation operation : Operation.values()) {
+            totalWeight += operation.weight;
+        }
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    // Returns the HTTP status, or -1 if the request failed at the transport level
+    private int execute(Operation operation, ThreadLocalRandom random) {
+        int user = random.nextInt(userIds.length);
+        int readGroup = random.nextInt(READ_GROUPS);
+        int writeGroup = READ_GROUPS + random.nextInt(SEED_GROUPS - READ_GROUPS);
+        try {
+            return switch (operation) {
+                case REGISTER_USER -> register(nextUsername()).statusCode();
+                case GET_USER_BY_ID -> send(get("/api/v1/users/" + userIds[user]).build()).statusCode();
+                case GET_USER_BY_USERNAME -> send(get("/api/v1/users/username/" + usernames[user]).build()).statusCode();
+                case CONDITIONAL_GET_USER -> send(get("/api/v1/users/" + userIds[user])
+                        .header("If-None-Match", eTags[user])
+                        .build()).statusCode();
+                case CREATE_RECURRING_EXPENSE -> send(post("/api/v1/groups/" + groupIds[writeGroup] + "/recurring-expenses", """
+                        {"paidByUserId":%d,"description":"Rent","amount":"1200.00","frequency":"MONTHLY",\
+                        "intervalCount":1,"startsAt":"2030-01-01T00:00:00"}"""
+                        .formatted(groupMembers[writeGroup][random.nextInt(MEMBERS_PER_GROUP)]))).statusCode();
+                case LIST_RECURRING_EXPENSES -> send(get("/api/v1/groups/" + groupIds[readGroup] + "/recurring-expenses").build()).statusCode();
+            };
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    // --- Seeding ---
+
+    private void seedUsers() throws IOException {
+        userIds = new long[SEED_USERS];
+        usernames = new String[SEED_USERS];
+        eTags = new String[SEED_USERS];
+        for (int i = 0; i < SEED_USERS; i++) {
+            usernames[i] = nextUsername();
+            HttpResponse<String> response = register(usernames[i]);
+            assertThat(response.statusCode()).as("seed registration").isEqualTo(201);
+            userIds[i] = objectMapper.readTree(response.body()).get("id").asLong();
+
+            HttpResponse<String> lookup = send(get("/api/v1/users/" + userIds[i]).build());
+            eTags[i] = lookup.headers().firstValue("ETag").orElseThrow();
+        }
+    }
+
+    // There is no group API yet, so groups (and the read groups' fixed recurring expenses) are created
+    // directly through the repositories
+    private void seedGroups() {
+        groupIds = new long[SEED_GROUPS];
+        groupMembers = new long[SEED_GROUPS][MEMBERS_PER_GROUP];
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int g = 0; g < SEED_GROUPS; g++) {
+                Group group = Group.builder()
+                        .name("load-group-" + runId + "-" + g)
+                        .createdBy(userRepository.getReferenceById(userIds[g]))
+                        .build();
+                for (int m = 0; m < MEMBERS_PER_GROUP; m++) {
+                    long memberId = userIds[(g + m * SEED_GROUPS) % SEED_USERS];
+                    group.addMember(userRepository.getReferenceById(memberId));
+                    groupMembers[g][m] = memberId;
+                }
+                group = groupRepository.save(group);
+                groupIds[g] = group.getId();
+                if (g < READ_GROUPS) {
+                    seedRecurringExpenses(group, groupMembers[g][0]);
+                }
+            }
+        });
+    }
+
+    private void seedRecurringExpenses(Group group, long paidByUserId) {
+        LocalDateTime startsAt = LocalDateTime.of(2030, 1, 1, 0, 0);
+        for (int i = 0; i < RECURRING_EXPENSES_PER_READ_GROUP; i++) {
+            recurringExpenseRepository.save(RecurringExpense.builder()
+                    .group(group)
+                    .paidBy(userRepository.getReferenceById(paidByUserId))
+                    .description("Seeded " + i)
+                    .amount(new BigDecimal("100.00"))
+                    .frequency(RecurrenceFrequency.MONTHLY)
+                    .intervalCount(1)
+                    .startsAt(startsAt)
+                    .occurrenceCount(0)
+                    .nextRunAt(startsAt)
+                    .active(true)
+                    .build());
+        }
+    }
+
+    // --- Reporting ---
+
+    private Map<String, Double> report(Map<Operation, Histogram> histograms, Map<Operation, LongAdder> errors,
+                                       int durationSeconds, double requestsPerSecond, long sent,
+                                       Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        Map<String, Double> p99Millis = new LinkedHashMap<>();
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "%-26s %9s %9s %9s %9s %9s %9s %9s %7s%n",
+                "operation", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors"));
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            p99Millis.put(operation.name(), millis(histogram.getValueAtPercentile(99.0)));
+            summary.append(String.format(Locale.ROOT, "%-26s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                    operation.isGated() ? operation.name() : operation.name() + " *",
+                    histogram.getTotalCount(),
+                    (double) histogram.getTotalCount() / durationSeconds,
+                    millis(histogram.getValueAtPercentile(50.0)),
+                    millis(histogram.getValueAtPercentile(90.0)),
+                    millis(histogram.getValueAtPercentile(99.0)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    errors.get(operation).sum()));
+
+            // Full percentile distribution, loadable in the HdrHistogram plotter
+            try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve(operation.name() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        // Histogram counts include the samples added by the coordinated omission correction
+        summary.append(String.format(Locale.ROOT, "gated mix: target %.1f req/s, achieved %.1f req/s; * = not gated%n",
+                requestsPerSecond, (double) sent / durationSeconds));
+
+        System.out.print(summary);
+        Files.writeString(reportDir.resolve("summary.txt"), summary);
+        return p99Millis;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    // --- HTTP helpers ---
+
+    private String nextUsername() {
+        return "lt-" + runId + "-" + registrationCounter.incrementAndGet();
+    }
+
+    private HttpResponse<String> register(String username) throws IOException {
+        return send(post("/api/v1/users/register", """
+                {"username":"%s","email":"%s@load.test","password":"password123"}""".formatted(username, username)));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded Postgres", e);
+        }
+    }
+}
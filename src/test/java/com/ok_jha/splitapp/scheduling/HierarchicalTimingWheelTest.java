@@ -0,0 +1,100 @@
+package com.ok_jha.splitapp.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    // 8 buckets of 100ms: level 0 spans 800ms, level 1 6.4s, level 2 51.2s
+    private static final long TICK_MS = 100;
+    private static final int WHEEL_SIZE = 8;
+    private static final long START_MS = 1_000_000;
+
+    @Test
+    void entryInOverflowLevelsCascadesDownAndFiresOnTime() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, START_MS);
+        assertThat(wheel.add("level0", START_MS + 350)).isTrue();
+        assertThat(wheel.add("level1", START_MS + 3_050)).isTrue();
+        assertThat(wheel.add("level2", START_MS + 20_000)).isTrue();
+
+        Map<String, Long> firedAt = advanceInSteps(wheel, START_MS + 25_000, TICK_MS);
+
+        assertThat(firedAt).containsOnlyKeys("level0", "level1", "level2");
+        assertFiredWithinOneTick(firedAt.get("level0"), START_MS + 350);
+        assertFiredWithinOneTick(firedAt.get("level1"), START_MS + 3_050);
+        assertFiredWithinOneTick(firedAt.get("level2"), START_MS + 20_000);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void idleWheelJumpsToNowAndSchedulesRelativeToIt() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, START_MS);
+        long later = START_MS + 3_600_000;
+        wheel.advanceTo(later, payload -> {
+            throw new AssertionError("nothing scheduled");
+        });
+
+        assertThat(wheel.add("soon", later + 500)).isTrue();
+        assertThat(wheel.add("old", later - 1)).isFalse();
+
+        Map<String, Long> firedAt = advanceInSteps(wheel, later + 1_000, TICK_MS);
+        assertThat(firedAt).containsOnlyKeys("soon");
+        assertFiredWithinOneTick(firedAt.get("soon"), later + 500);
+    }
+
+    @Test
+    void deadlinesAlreadyPassedAreRejected() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, START_MS);
+
+        assertThat(wheel.add("past", START_MS - 5_000)).isFalse();
+        assertThat(wheel.add("now", START_MS)).isFalse();
+        assertThat(wheel.add("next-millisecond", START_MS + 1)).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void randomDeadlinesFireExactlyOnceNeverEarlyAndAtMostOneTickLate() {
+        Random random = new Random(42);
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, START_MS);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            long deadline = START_MS + 1 + random.nextInt(200_000);
+            deadlines.put(i, deadline);
+            assertThat(wheel.add(i, deadline)).isTrue();
+        }
+
+        List<Integer> fired = new ArrayList<>();
+        long now = START_MS;
+        while (now < START_MS + 201_000) {
+            now += TICK_MS;
+            long current = now;
+            wheel.advanceTo(current, id -> {
+                fired.add(id);
+                assertFiredWithinOneTick(current, deadlines.get(id));
+            });
+        }
+
+        assertThat(fired).hasSize(deadlines.size()).doesNotHaveDuplicates();
+        assertThat(wheel.size()).isZero();
+    }
+
+    private static Map<String, Long> advanceInSteps(HierarchicalTimingWheel<String> wheel, long untilMs, long stepMs) {
+        Map<String, Long> firedAt = new HashMap<>();
+        for (long now = START_MS; now <= untilMs; now += stepMs) {
+            long current = now;
+            wheel.advanceTo(current, payload -> assertThat(firedAt.put(payload, current)).isNull());
+        }
+        return firedAt;
+    }
+
+    private static void assertFiredWithinOneTick(long firedAtMs, long deadlineMs) {
+        assertThat(firedAtMs).isGreaterThanOrEqualTo(deadlineMs).isLessThan(deadlineMs + TICK_MS);
+    }
+}
@@ -0,0 +1,246 @@
+package com.ok_jha.splitapp.scheduling;
+
+import com.ok_jha.splitapp.domain.entity.RecurringExpense;
+import com.ok_jha.splitapp.exception.ExpenseIngestionException;
+import com.ok_jha.splitapp.service.RecurringExpenseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringExpenseSchedulerTest {
+
+    private static final long TICK_MS = 100;
+    private static final long BACKOFF_INITIAL_MS = 1_000;
+    private static final long BACKOFF_MAX_MS = 4_000;
+
+    @Mock
+    private RecurringExpenseService recurringExpenseService;
+
+    private final MutableClock clock = new MutableClock(LocalDateTime.of(2025, 3, 10, 12, 0));
+    private RecurringExpenseScheduler scheduler;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        scheduler.stop();
+    }
+
+    @Test
+    void ingestionFailureRequeuesAtTheFrontAndPausesClaimingAndDispatch() {
+        scheduler = newScheduler(500, 20_000);
+        givenClaimable(schedule(1L, clock.now()), schedule(2L, clock.now()));
+        scheduler.claim();
+        when(recurringExpenseService.materializeDue(eq(1L), anyString(), any(), anyInt()))
+                .thenThrow(new ExpenseIngestionException("broker down", null))
+                .thenReturn(Optional.empty());
+        when(recurringExpenseService.materializeDue(eq(2L), anyString(), any(), anyInt())).thenReturn(Optional.empty());
+
+        scheduler.tick();
+        verify(recurringExpenseService, times(1)).materializeDue(eq(1L), anyString(), any(), anyInt());
+        verify(recurringExpenseService, never()).materializeDue(eq(2L), anyString(), any(), anyInt());
+
+        // Paused: neither dispatch nor claiming happens before the backoff has passed
+        clock.advance(BACKOFF_INITIAL_MS - 1);
+        scheduler.tick();
+        scheduler.claim();
+        verify(recurringExpenseService, times(1)).materializeDue(any(), anyString(), any(), anyInt());
+        verify(recurringExpenseService, times(1)).claimDue(anyString(), any(), any(), any(), anyInt());
+
+        clock.advance(1);
+        scheduler.tick();
+        InOrder order = inOrder(recurringExpenseService);
+        order.verify(recurringExpenseService, times(2)).materializeDue(eq(1L), anyString(), any(), anyInt());
+        order.verify(recurringExpenseService).materializeDue(eq(2L), anyString(), any(), anyInt());
+    }
+
+    @Test
+    void backoffDoublesUpToTheMaximumAndResetsAfterASuccess() {
+        scheduler = newScheduler(500, 20_000);
+        givenClaimable(schedule(1L, clock.now()));
+        scheduler.claim();
+        AtomicLong calls = new AtomicLong();
+        // Fail four times, succeed once (still due, so it is re-queued), then fail again
+        when(recurringExpenseService.materializeDue(eq(1L), anyString(), any(), anyInt())).thenAnswer(invocation -> {
+            long call = calls.incrementAndGet();
+            if (call == 5) {
+                return Optional.of(clock.now());
+            }
+            throw new ExpenseIngestionException("broker down", null);
+        });
+
+        scheduler.tick(); // failure 1
+        for (long expectedPauseMs : new long[]{1_000, 2_000, 4_000, 4_000}) {
+            long before = calls.get();
+            clock.advance(expectedPauseMs - TICK_MS);
+            scheduler.tick();
+            assertThat(calls.get()).as("still paused %d ms in", expectedPauseMs - TICK_MS).isEqualTo(before);
+            clock.advance(TICK_MS);
+            scheduler.tick();
+            assertThat(calls.get()).as("dispatching again after %d ms", expectedPauseMs).isEqualTo(before + 1);
+        }
+        assertThat(calls.get()).isEqualTo(5); // The last one succeeded
+
+        scheduler.tick(); // failure after the success
+        clock.advance(BACKOFF_INITIAL_MS);
+        scheduler.tick();
+        assertThat(calls.get()).as("backoff restarted from the initial value").isEqualTo(7);
+    }
+
+    @Test
+    void claimLoopStopsOnceMaxPendingIsReached() {
+        scheduler = newScheduler(2, 3);
+        AtomicLong nextId = new AtomicLong();
+        when(recurringExpenseService.claimDue(anyString(), any(), any(), any(), eq(2))).thenAnswer(invocation -> List.of(
+                schedule(nextId.incrementAndGet(), clock.now().plusMinutes(5)),
+                schedule(nextId.incrementAndGet(), clock.now().plusMinutes(5))));
+
+        scheduler.claim();
+
+        // First full batch: 2 pending < 3, claim again; second: 4 pending >= 3, stop
+        verify(recurringExpenseService, times(2)).claimDue(anyString(), any(), any(), any(), eq(2));
+    }
+
+    @Test
+    void claimLoopStopsAtAPartialBatch() {
+        scheduler = newScheduler(2, 20_000);
+        when(recurringExpenseService.claimDue(anyString(), any(), any(), any(), eq(2)))
+                .thenReturn(List.of(schedule(1L, clock.now()), schedule(2L, clock.now())))
+                .thenReturn(List.of(schedule(3L, clock.now())));
+
+        scheduler.claim();
+
+        verify(recurringExpenseService, times(2)).claimDue(anyString(), any(), any(), any(), eq(2));
+    }
+
+    @Test
+    void scheduleStillOverdueAfterARunIsDispatchedAgainOnTheNextTick() {
+        scheduler = newScheduler(500, 20_000);
+        givenClaimable(schedule(1L, clock.now().minusDays(30)));
+        scheduler.claim();
+        when(recurringExpenseService.materializeDue(eq(1L), anyString(), any(), anyInt()))
+                .thenReturn(Optional.of(clock.now().minusDays(10))) // Capped catch-up, more occurrences overdue
+                .thenReturn(Optional.of(clock.now().plusDays(1)));
+
+        scheduler.tick();
+        verify(recurringExpenseService, times(1)).materializeDue(eq(1L), anyString(), any(), anyInt());
+
+        clock.advance(TICK_MS);
+        scheduler.tick();
+        verify(recurringExpenseService, times(2)).materializeDue(eq(1L), anyString(), any(), anyInt());
+
+        // Caught up: the next run is in the future, so nothing more to dispatch
+        clock.advance(TICK_MS);
+        scheduler.tick();
+        verify(recurringExpenseService, times(2)).materializeDue(eq(1L), anyString(), any(), anyInt());
+    }
+
+    @Test
+    void disabledSchedulerNeverClaims() throws InterruptedException {
+        scheduler = newScheduler(false, 500, 20_000);
+
+        scheduler.start();
+        scheduler.stop();
+
+        verify(recurringExpenseService, never()).claimDue(anyString(), any(), any(), any(), anyInt());
+        verify(recurringExpenseService, never()).releaseLeases(anyString(), any());
+    }
+
+    @Test
+    void stopReleasesExactlyTheLeasesHeldInMemory() throws InterruptedException {
+        scheduler = newScheduler(500, 20_000);
+        givenClaimable(schedule(1L, clock.now().plusMinutes(5)), schedule(2L, clock.now().plusMinutes(5)));
+
+        scheduler.start();
+        verify(recurringExpenseService, timeout(5_000)).claimDue(anyString(), any(), any(), any(), anyInt());
+        scheduler.stop();
+
+        verify(recurringExpenseService).releaseLeases(anyString(),
+                argThat((Collection<Long> ids) -> Set.copyOf(ids).equals(Set.of(1L, 2L))));
+    }
+
+    private RecurringExpenseScheduler newScheduler(int claimBatchSize, int maxPending) {
+        return newScheduler(true, claimBatchSize, maxPending);
+    }
+
+    // Tests drive claim() and tick() themselves; the background tasks only run when a test calls start()
+    private RecurringExpenseScheduler newScheduler(boolean enabled, int claimBatchSize, int maxPending) {
+        return new RecurringExpenseScheduler(recurringExpenseService, clock, enabled,
+                TICK_MS, 64, Duration.ofMinutes(10), Duration.ofMinutes(5), 120_000,
+                claimBatchSize, maxPending, 200, 50, 30_000, BACKOFF_INITIAL_MS, BACKOFF_MAX_MS);
+    }
+
+    private void givenClaimable(RecurringExpense... schedules) {
+        when(recurringExpenseService.claimDue(anyString(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(schedules))
+                .thenReturn(List.of());
+    }
+
+    private static RecurringExpense schedule(Long id, LocalDateTime nextRunAt) {
+        return RecurringExpense.builder().id(id).nextRunAt(nextRunAt).active(true).build();
+    }
+
+    // A UTC clock the test moves forward by hand
+    private static final class MutableClock extends Clock {
+        private final AtomicLong millis;
+
+        private MutableClock(LocalDateTime start) {
+            this.millis = new AtomicLong(start.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+
+        void advance(long ms) {
+            millis.addAndGet(ms);
+        }
+
+        LocalDateTime now() {
+            return LocalDateTime.now(this);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.ok_jha.splitapp.service;
+
+import com.ok_jha.splitapp.domain.entity.Group;
+import com.ok_jha.splitapp.domain.entity.RecurrenceFrequency;
+import com.ok_jha.splitapp.domain.entity.RecurringExpense;
+import com.ok_jha.splitapp.domain.entity.User;
+import com.ok_jha.splitapp.domain.repository.GroupRepository;
+import com.ok_jha.splitapp.domain.repository.RecurringExpenseRepository;
+import com.ok_jha.splitapp.domain.repository.UserRepository;
+import com.ok_jha.splitapp.exception.ExpenseIngestionException;
+import com.ok_jha.splitapp.messaging.ExpenseIngestRequest;
+import com.ok_jha.splitapp.messaging.ExpenseIngestionPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringExpenseServiceImplTest {
+
+    private static final String NODE = "node-a";
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    @Mock
+    private RecurringExpenseRepository recurringExpenseRepository;
+    @Mock
+    private GroupRepository groupRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ExpenseIngestionPublisher expenseIngestionPublisher;
+
+    private RecurringExpenseServiceImpl recurringExpenseService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        recurringExpenseService = new RecurringExpenseServiceImpl(
+                recurringExpenseRepository, groupRepository, userRepository, expenseIngestionPublisher, clock);
+    }
+
+    @Test
+    void startInThePastIsRejected() {
+        givenGroupWithPayer();
+
+        assertThatThrownBy(() -> create(LocalDateTime.of(2000, 1, 1, 0, 0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("past");
+        assertThatThrownBy(() -> create(NOW.minusMinutes(6)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(recurringExpenseRepository, never()).save(any());
+    }
+
+    @Test
+    void startWithinTheGracePeriodIsAccepted() {
+        givenGroupWithPayer();
+        when(recurringExpenseRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RecurringExpense created = create(NOW.minusMinutes(4));
+
+        assertThat(created.getNextRunAt()).isEqualTo(NOW.minusMinutes(4));
+        assertThat(created.getOccurrenceCount()).isZero();
+    }
+
+    @Test
+    void leasesAreReleasedByIdInBoundedBatches() {
+        List<Long> ids = LongStream.rangeClosed(1, 2_500).boxed().toList();
+        when(recurringExpenseRepository.releaseLeases(any(), eq(NODE))).thenAnswer(invocation ->
+                ((List<?>) invocation.getArgument(0)).size());
+
+        assertThat(recurringExpenseService.releaseLeases(NODE, ids)).isEqualTo(2_500);
+        verify(recurringExpenseRepository, times(3)).releaseLeases(any(), eq(NODE));
+        verify(recurringExpenseRepository).releaseLeases(ids.subList(2_000, 2_500), NODE);
+    }
+
+    @Test
+    void catchUpIsCappedAtMaxOccurrencesAndKeepsTheLease() {
+        RecurringExpense daily = dailyExpense(NOW.minusDays(10));
+        when(recurringExpenseRepository.findLeasedBy(7L, NODE, NOW)).thenReturn(Optional.of(daily));
+
+        Optional<LocalDateTime> next = recurringExpenseService.materializeDue(7L, NODE, NOW, 3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ExpenseIngestRequest>> published = ArgumentCaptor.forClass(List.class);
+        verify(expenseIngestionPublisher).publishAll(published.capture());
+        assertThat(published.getValue())
+                .extracting(ExpenseIngestRequest::getIdempotencyKey)
+                .containsExactly("recurring-7-0", "recurring-7-1", "recurring-7-2");
+        assertThat(published.getValue())
+                .extracting(ExpenseIngestRequest::getIncurredAt)
+                .containsExactly(NOW.minusDays(10), NOW.minusDays(9), NOW.minusDays(8));
+
+        // More occurrences are still overdue, so the caller gets the next one back and we keep the lease
+        assertThat(next).contains(NOW.minusDays(7));
+        assertThat(daily.getOccurrenceCount()).isEqualTo(3);
+        assertThat(daily.getLeaseOwner()).isEqualTo(NODE);
+    }
+
+    @Test
+    void leaseIsReleasedOnceTheNextRunIsOutsideTheLeaseWindow() {
+        RecurringExpense daily = dailyExpense(NOW.minusHours(1));
+        when(recurringExpenseRepository.findLeasedBy(7L, NODE, NOW)).thenReturn(Optional.of(daily));
+
+        Optional<LocalDateTime> next = recurringExpenseService.materializeDue(7L, NODE, NOW, 50);
+
+        assertThat(next).isEmpty();
+        assertThat(daily.getNextRunAt()).isEqualTo(NOW.minusHours(1).plusDays(1));
+        assertThat(daily.getLeaseOwner()).isNull();
+        assertThat(daily.getLeaseExpiresAt()).isNull();
+    }
+
+    @Test
+    void lostLeaseReturnsEmptyWithoutPublishing() {
+        when(recurringExpenseRepository.findLeasedBy(7L, NODE, NOW)).thenReturn(Optional.empty());
+
+        assertThat(recurringExpenseService.materializeDue(7L, NODE, NOW, 50)).isEmpty();
+        verify(expenseIngestionPublisher, never()).publishAll(any());
+    }
+
+    @Test
+    void publishFailurePropagatesSoTheTransactionRollsBack() {
+        RecurringExpense daily = dailyExpense(NOW.minusHours(1));
+        when(recurringExpenseRepository.findLeasedBy(7L, NODE, NOW)).thenReturn(Optional.of(daily));
+        doThrow(new ExpenseIngestionException("broker down", null)).when(expenseIngestionPublisher).publishAll(any());
+
+        assertThatThrownBy(() -> recurringExpenseService.materializeDue(7L, NODE, NOW, 50))
+                .isInstanceOf(ExpenseIngestionException.class);
+    }
+
+    private static RecurringExpense dailyExpense(LocalDateTime startsAt) {
+        return RecurringExpense.builder()
+                .id(7L)
+                .group(Group.builder().id(1L).name("Flat").build())
+                .paidBy(User.builder().id(2L).username("alice").build())
+                .description("Rent")
+                .amount(new BigDecimal("10.00"))
+                .frequency(RecurrenceFrequency.DAILY)
+                .intervalCount(1)
+                .startsAt(startsAt)
+                .nextRunAt(startsAt)
+                .active(true)
+                .leaseOwner(NODE)
+                .leaseExpiresAt(NOW.plusMinutes(15))
+                .build();
+    }
+
+    private void givenGroupWithPayer() {
+        User alice = User.builder().id(2L).username("alice").build();
+        Group group = Group.builder().id(1L).name("Flat").build();
+        group.addMember(alice);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(alice));
+    }
+
+    private RecurringExpense create(LocalDateTime startsAt) {
+        return recurringExpenseService.createRecurringExpense(1L, 2L, "Rent", new BigDecimal("10.00"),
+                RecurrenceFrequency.DAILY, 1, startsAt, null);
+    }
+}
@@ -0,0 +1,114 @@
+package com.ok_jha.splitapp.web.controller;
+
+import com.ok_jha.splitapp.config.SecurityConfig;
+import com.ok_jha.splitapp.domain.entity.User;
+import com.ok_jha.splitapp.domain.repository.EntityVersion;
+import com.ok_jha.splitapp.service.UserService;
+import com.ok_jha.splitapp.web.support.EntityTags;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserController.class)
+@Import(SecurityConfig.class)
+class UserControllerTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 5, 1, 10, 15, 30);
+    private static final User ALICE = User.builder()
+            .id(7L)
+            .username("alice")
+            .email("alice@example.com")
+            .createdAt(UPDATED_AT.minusDays(1))
+            .updatedAt(UPDATED_AT)
+            .build();
+    private static final String ETAG = EntityTags.of(7L, UPDATED_AT);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UserService userService;
+
+    @Test
+    void plainGetReturnsTheUserWithAnETag() throws Exception {
+        when(userService.findById(7L)).thenReturn(Optional.of(ALICE));
+
+        mockMvc.perform(get("/api/v1/users/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(jsonPath("$.username").value("alice"));
+        verify(userService, never()).findVersionById(any());
+    }
+
+    @Test
+    void matchingTagReturns304WithoutLoadingTheUser() throws Exception {
+        when(userService.findVersionById(7L)).thenReturn(Optional.of(version(7L, UPDATED_AT)));
+
+        mockMvc.perform(get("/api/v1/users/7").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+        verify(userService, never()).findById(any());
+    }
+
+    @Test
+    void staleTagReturnsTheCurrentUser() throws Exception {
+        when(userService.findVersionById(7L)).thenReturn(Optional.of(version(7L, UPDATED_AT)));
+        when(userService.findById(7L)).thenReturn(Optional.of(ALICE));
+
+        mockMvc.perform(get("/api/v1/users/7")
+                        .header(HttpHeaders.IF_NONE_MATCH, EntityTags.of(7L, UPDATED_AT.minusMinutes(5))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(jsonPath("$.id").value(7));
+    }
+
+    @Test
+    void conditionalGetForUnknownUserReturns404() throws Exception {
+        when(userService.findVersionById(99L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/users/99").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotFound());
+        verify(userService, never()).findById(any());
+    }
+
+    @Test
+    void matchingTagByUsernameReturns304() throws Exception {
+        when(userService.findVersionByUsername("alice")).thenReturn(Optional.of(version(7L, UPDATED_AT)));
+
+        mockMvc.perform(get("/api/v1/users/username/alice").header(HttpHeaders.IF_NONE_MATCH, "W/" + ETAG))
+                .andExpect(status().isNotModified());
+        verify(userService, never()).findByUsername(any());
+    }
+
+    private static EntityVersion version(Long id, LocalDateTime updatedAt) {
+        return new EntityVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+}
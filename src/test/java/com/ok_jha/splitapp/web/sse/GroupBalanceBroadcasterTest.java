@@ -0,0 +1,230 @@
+package com.ok_jha.splitapp.web.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ok_jha.splitapp.messaging.GroupBalanceUpdate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroupBalanceBroadcasterTest {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 20_000;
+
+    private static final long GROUP_ID = 1L;
+
+    private GroupBalanceBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void subscribeUnsubscribeChurnNeverStrandsASubscriber() throws Exception {
+        broadcaster = newBroadcaster(4, 60_000);
+        // Few groups and short-lived subscriptions, so "last subscriber leaves" races with "new subscriber joins"
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<GroupBalanceBroadcaster.Subscriber>>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<GroupBalanceBroadcaster.Subscriber> kept = new ArrayList<>();
+                start.await();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    GroupBalanceBroadcaster.Subscriber subscriber =
+                            broadcaster.register((long) random.nextInt(3), new SseEmitter());
+                    if (random.nextInt(100) == 0) {
+                        kept.add(subscriber);
+                    } else {
+                        broadcaster.unsubscribe(subscriber);
+                    }
+                }
+                return kept;
+            }));
+        }
+        start.countDown();
+
+        List<GroupBalanceBroadcaster.Subscriber> survivors = new ArrayList<>();
+        for (Future<List<GroupBalanceBroadcaster.Subscriber>> result : results) {
+            survivors.addAll(result.get(60, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertThat(survivors).allSatisfy(subscriber -> assertThat(broadcaster.isReachable(subscriber)).isTrue());
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(survivors.size());
+
+        survivors.forEach(broadcaster::unsubscribe);
+        assertThat(broadcaster.getSubscriberCount()).isZero();
+        assertThat(broadcaster.getChannelCount()).isZero();
+    }
+
+    @Test
+    void unsubscribingTwiceCountsOnce() {
+        broadcaster = newBroadcaster(4, 60_000);
+        GroupBalanceBroadcaster.Subscriber subscriber = broadcaster.register(1L, new SseEmitter());
+        broadcaster.unsubscribe(subscriber);
+        broadcaster.unsubscribe(subscriber);
+
+        assertThat(broadcaster.getSubscriberCount()).isZero();
+        assertThat(broadcaster.getChannelCount()).isZero();
+    }
+
+    @Test
+    void burstOfPublishesIsCoalescedIntoOneFrameWithTheLatestPayload() throws Exception {
+        // One push per second: the first flush is a second away, so the whole burst lands before it
+        broadcaster = newBroadcaster(1, 60_000);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(GROUP_ID, emitter);
+
+        for (int version = 1; version <= 1_000; version++) {
+            broadcaster.publish(update(version));
+        }
+
+        awaitUntil(() -> !emitter.balanceFrames().isEmpty());
+        Thread.sleep(1_200); // Another flush: nothing left to send
+        assertThat(emitter.balanceFrames()).hasSize(1);
+        assertThat(emitter.balanceFrames().get(0)).contains("\"1\":1000");
+    }
+
+    @Test
+    void continuousPublishingIsCappedAtMaxPushesPerSecond() throws Exception {
+        broadcaster = newBroadcaster(10, 60_000);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(GROUP_ID, emitter);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        int version = 0;
+        while (System.nanoTime() < deadline) {
+            broadcaster.publish(update(++version));
+            Thread.sleep(1);
+        }
+        Thread.sleep(300);
+
+        // ~1000 updates in one second, at most one push per 100ms flush (plus one for a flush at the edge)
+        assertThat(emitter.balanceFrames()).hasSizeBetween(5, 11);
+        assertThat(emitter.balanceFrames().get(emitter.balanceFrames().size() - 1)).contains("\"1\":" + version);
+    }
+
+    @Test
+    void blockedSubscriberHasOneSendInFlightAndThenOnlyGetsTheNewestFrame() throws Exception {
+        broadcaster = newBroadcaster(20, 60_000);
+        RecordingEmitter stalled = new RecordingEmitter();
+        stalled.block();
+        RecordingEmitter healthy = new RecordingEmitter();
+        broadcaster.register(GROUP_ID, stalled);
+        broadcaster.register(GROUP_ID, healthy);
+
+        broadcaster.publish(update(1));
+        assertThat(stalled.sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int version = 2; version <= 40; version++) {
+            broadcaster.publish(update(version));
+            Thread.sleep(10); // Spans several 50ms flushes
+        }
+        // The stalled client does not hold up the other subscriber of the group
+        awaitUntil(() -> healthy.balanceFrames().stream().anyMatch(frame -> frame.contains("\"1\":40")));
+
+        stalled.unblock();
+        awaitUntil(() -> stalled.balanceFrames().size() == 2);
+        Thread.sleep(200);
+        assertThat(stalled.balanceFrames()).hasSize(2);
+        assertThat(stalled.balanceFrames().get(0)).contains("\"1\":1");
+        assertThat(stalled.balanceFrames().get(1)).contains("\"1\":40");
+        assertThat(stalled.maxInFlight.get()).isEqualTo(1);
+    }
+
+    @Test
+    void idleSubscribersReceiveHeartbeatComments() throws Exception {
+        broadcaster = newBroadcaster(4, 50);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(GROUP_ID, emitter);
+
+        awaitUntil(() -> emitter.frames.stream().filter(RecordingEmitter::isHeartbeat).count() >= 2);
+        assertThat(emitter.balanceFrames()).isEmpty();
+        assertThat(emitter.maxInFlight.get()).isEqualTo(1);
+    }
+
+    private static GroupBalanceBroadcaster newBroadcaster(int maxPushesPerSecond, long heartbeatIntervalMs) {
+        return new GroupBalanceBroadcaster(new ObjectMapper(), maxPushesPerSecond, 60_000, 2, heartbeatIntervalMs);
+    }
+
+    // The version is carried as user 1's balance, so frames can be told apart
+    private static GroupBalanceUpdate update(int version) {
+        return GroupBalanceUpdate.builder()
+                .groupId(GROUP_ID)
+                .balances(Map.of(1L, BigDecimal.valueOf(version)))
+                .build();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    // Records every event written to it; send() can be made to block like a client that stopped reading
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void unblock() {
+            gate.countDown();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                sendStarted.countDown();
+                CountDownLatch current = gate;
+                if (current != null && !current.await(10, TimeUnit.SECONDS)) {
+                    throw new IOException("test emitter was never unblocked");
+                }
+                frames.add(builder.build().stream()
+                        .map(part -> part.getData().toString())
+                        .collect(Collectors.joining()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        List<String> balanceFrames() {
+            return frames.stream().filter(frame -> !isHeartbeat(frame)).toList();
+        }
+
+        static boolean isHeartbeat(String frame) {
+            return frame.startsWith(":");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.ok_jha.splitapp.web.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityTagsTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 5, 1, 10, 15, 30, 123_456_789);
+    private static final String CURRENT = EntityTags.of(42L, UPDATED_AT);
+
+    @Test
+    void tagIsQuotedAndIgnoresSubMicrosecondPrecision() {
+        assertThat(CURRENT).startsWith("\"").endsWith("\"");
+        // PostgreSQL stores microseconds, so the value read back must produce the same tag
+        assertThat(EntityTags.of(42L, UPDATED_AT.withNano(123_456_000))).isEqualTo(CURRENT);
+        assertThat(EntityTags.of(42L, UPDATED_AT.plusNanos(1_000))).isNotEqualTo(CURRENT);
+        assertThat(EntityTags.of(43L, UPDATED_AT)).isNotEqualTo(CURRENT);
+    }
+
+    @Test
+    void exactTagMatches() {
+        assertThat(EntityTags.matches(CURRENT, CURRENT)).isTrue();
+        assertThat(EntityTags.matches("\"stale\"", CURRENT)).isFalse();
+    }
+
+    @Test
+    void weakPrefixIsIgnored() {
+        assertThat(EntityTags.matches("W/" + CURRENT, CURRENT)).isTrue();
+    }
+
+    @Test
+    void anyTagInACommaSeparatedListMatches() {
+        assertThat(EntityTags.matches("\"a\", W/\"b\"," + CURRENT, CURRENT)).isTrue();
+        assertThat(EntityTags.matches("\"a\", W/\"b\"", CURRENT)).isFalse();
+    }
+
+    @Test
+    void wildcardMatchesAnyCurrentRepresentation() {
+        assertThat(EntityTags.matches("*", CURRENT)).isTrue();
+        assertThat(EntityTags.matches("\"a\", *", CURRENT)).isTrue();
+    }
+
+    @Test
+    void missingOrBlankHeaderNeverMatches() {
+        assertThat(EntityTags.matches(null, CURRENT)).isFalse();
+        assertThat(EntityTags.matches("", CURRENT)).isFalse();
+        assertThat(EntityTags.matches("   ", CURRENT)).isFalse();
+    }
+}